@@ -2,29 +2,72 @@ package com.polaris.cobbletip;
 
 import com.polaris.cobbletip.cmd.CobbleTipCommand;
 import com.polaris.cobbletip.cmd.CtpCommand;
+import com.polaris.cobbletip.listener.AnnouncementReplayListener;
+import com.polaris.cobbletip.listener.AudienceListener;
 import com.polaris.cobbletip.listener.PartyViewListener;
 import com.polaris.cobbletip.listener.PartyViewInventoryLockListener;
+import com.polaris.cobbletip.listener.PlayerGridListener;
+import com.polaris.cobbletip.listener.PlayerStateListener;
 import com.polaris.cobbletip.listener.ProtectionListener;
+import com.polaris.cobbletip.listener.ProtectionResyncListener;
 import com.polaris.cobbletip.listener.SpawnAnnounceListener;
+import com.polaris.cobbletip.listener.SpawnResolveListener;
+import com.polaris.cobbletip.listener.WorldDirectoryListener;
+import com.polaris.cobbletip.service.AnnouncePipeline;
+import com.polaris.cobbletip.service.AnnounceThrottle;
+import com.polaris.cobbletip.service.AnnouncementDispatcher;
+import com.polaris.cobbletip.service.AnnouncementHistory;
+import com.polaris.cobbletip.service.AudienceIndex;
+import com.polaris.cobbletip.service.PendingSpawnRegistry;
+import com.polaris.cobbletip.service.PlayerGrid;
+import com.polaris.cobbletip.service.PlayerStateStore;
 import com.polaris.cobbletip.service.ProtectionService;
 import com.polaris.cobbletip.service.TeleportService;
+import com.polaris.cobbletip.service.WarmUp;
+import com.polaris.cobbletip.service.WorldDirectory;
+import com.polaris.cobbletip.util.CobblemonLang;
+import com.polaris.cobbletip.util.PokemonEntityHandles;
 import com.polaris.cobbletip.util.TipConfig;
 import org.bukkit.Bukkit;
 import org.bukkit.event.HandlerList;
 import org.bukkit.plugin.java.JavaPlugin;
 
+import java.util.List;
+
 public final class CobbleTipPlugin extends JavaPlugin {
-    private TipConfig cfg;
+    private volatile TipConfig cfg;
     private ProtectionService protectionService;
     private TeleportService teleportService;
+    private PendingSpawnRegistry pendingSpawns;
+    private PlayerStateStore playerState;
+    private AnnouncementDispatcher dispatcher;
+    private AnnouncePipeline announcePipeline;
+    private AnnounceThrottle announceThrottle;
+    private AudienceIndex audience;
+    private PlayerGrid playerGrid;
+    private WorldDirectory worldDirectory;
+    private AnnouncementHistory history;
+    private CobblemonLang lang;
+    private WarmUp warmUp;
     private boolean registered;
 
     @Override
     public void onEnable() {
         saveDefaultConfig();
+        this.warmUp = new WarmUp(this);
         reloadAll();
 
+        // Lang parsing and reflection happen off the main thread now instead of inside the first spawn or click.
+        List<String> locales = List.copyOf(audience.locales());
+        ClassLoader serverLoader = getServer().getClass().getClassLoader();
+        warmUp.step("lang", () -> lang.preload(locales))
+                .step("party view classes", PartyViewListener::preloadClasses)
+                .step("pokemon entity handles", () -> PokemonEntityHandles.preload(serverLoader))
+                .step("chat packet path", dispatcher::warm)
+                .start();
+
         // Rebuild protection caches after restart/reload (ensures battles are still blocked).
+        // Loaded entities are swept incrementally; later chunk loads go through ProtectionResyncListener.
         try { protectionService.resyncLoadedEntities(); } catch (Throwable ignored) {}
 
         getLogger().info("CobbleTip enabled. debug=" + cfg.debug());
@@ -32,19 +75,48 @@ public final class CobbleTipPlugin extends JavaPlugin {
 
     @Override
     public void onDisable() {
+        if (announcePipeline != null) announcePipeline.shutdown();
+        if (protectionService != null) protectionService.shutdown();
         getLogger().info("CobbleTip disabled.");
     }
 
     public void reloadAll() {
         reloadConfig();
+        // Compile the whole snapshot first, then publish it with a single reference swap.
         this.cfg = new TipConfig(this);
 
-        if (this.protectionService == null) this.protectionService = new ProtectionService(this, cfg);
+        if (this.playerState == null) this.playerState = new PlayerStateStore(this);
+
+        if (this.protectionService == null) this.protectionService = new ProtectionService(this, cfg, playerState);
         else this.protectionService.reload(cfg);
 
-        if (this.teleportService == null) this.teleportService = new TeleportService(this, cfg);
+        if (this.teleportService == null) this.teleportService = new TeleportService(this, cfg, playerState);
         else this.teleportService.reload(cfg);
 
+        if (this.pendingSpawns == null) this.pendingSpawns = new PendingSpawnRegistry(this);
+        if (this.dispatcher == null) this.dispatcher = new AnnouncementDispatcher(this);
+
+        if (this.announcePipeline == null) this.announcePipeline = new AnnouncePipeline(this, cfg.announceQueueCapacity());
+        else this.announcePipeline.reload(cfg.announceQueueCapacity());
+
+        if (this.announceThrottle == null) this.announceThrottle = new AnnounceThrottle(this, cfg);
+        else this.announceThrottle.reload(cfg);
+
+        if (this.history == null) this.history = new AnnouncementHistory(cfg);
+        else this.history.reload(cfg);
+
+        if (this.lang == null) this.lang = new CobblemonLang(cfg);
+        else this.lang.reload(cfg);
+
+        if (this.worldDirectory == null) this.worldDirectory = new WorldDirectory();
+        this.worldDirectory.rebuild();
+
+        if (this.playerGrid == null) this.playerGrid = new PlayerGrid(this);
+        this.playerGrid.rebuild();
+
+        if (this.audience == null) this.audience = new AudienceIndex(this, cfg, playerGrid);
+        else this.audience.reload(cfg);
+
         if (registered) {
             HandlerList.unregisterAll(this);
         }
@@ -56,11 +128,55 @@ public final class CobbleTipPlugin extends JavaPlugin {
         return cfg;
     }
 
+    public ProtectionService getProtectionService() {
+        return protectionService;
+    }
+
+    public TeleportService getTeleportService() {
+        return teleportService;
+    }
+
+    public PlayerStateStore getPlayerState() {
+        return playerState;
+    }
+
+    public AnnouncementDispatcher getDispatcher() {
+        return dispatcher;
+    }
+
+    public AnnouncePipeline getAnnouncePipeline() {
+        return announcePipeline;
+    }
+
+    public AnnounceThrottle getAnnounceThrottle() {
+        return announceThrottle;
+    }
+
+    public AudienceIndex getAudience() {
+        return audience;
+    }
+
+    public AnnouncementHistory getHistory() {
+        return history;
+    }
+
+    public CobblemonLang getLang() {
+        return lang;
+    }
+
     private void registerListenersAndCommands() {
-        Bukkit.getPluginManager().registerEvents(new SpawnAnnounceListener(this, cfg, teleportService, protectionService), this);
+        Bukkit.getPluginManager().registerEvents(new SpawnAnnounceListener(this, cfg, teleportService, protectionService, pendingSpawns,
+                dispatcher, announcePipeline, announceThrottle, audience, playerGrid, worldDirectory, history, lang, warmUp), this);
+        Bukkit.getPluginManager().registerEvents(new SpawnResolveListener(pendingSpawns), this);
         Bukkit.getPluginManager().registerEvents(new ProtectionListener(this, cfg, protectionService), this);
+        Bukkit.getPluginManager().registerEvents(new ProtectionResyncListener(protectionService), this);
         Bukkit.getPluginManager().registerEvents(new PartyViewListener(this, cfg), this);
         Bukkit.getPluginManager().registerEvents(new PartyViewInventoryLockListener(), this);
+        Bukkit.getPluginManager().registerEvents(new PlayerStateListener(playerState), this);
+        Bukkit.getPluginManager().registerEvents(new AudienceListener(audience), this);
+        Bukkit.getPluginManager().registerEvents(new PlayerGridListener(playerGrid), this);
+        Bukkit.getPluginManager().registerEvents(new WorldDirectoryListener(this, worldDirectory), this);
+        Bukkit.getPluginManager().registerEvents(new AnnouncementReplayListener(this, cfg, history, audience, dispatcher), this);
 
         if (getCommand("ctp") != null) {
             getCommand("ctp").setExecutor(new CtpCommand(this, cfg, teleportService, protectionService));
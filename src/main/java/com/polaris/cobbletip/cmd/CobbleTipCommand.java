@@ -1,16 +1,24 @@
 package com.polaris.cobbletip.cmd;
 
 import com.polaris.cobbletip.CobbleTipPlugin;
-import com.polaris.cobbletip.util.Msg;
+import com.polaris.cobbletip.service.AnnouncePipeline;
+import com.polaris.cobbletip.service.AnnounceThrottle;
+import com.polaris.cobbletip.service.AnnouncementDispatcher;
+import com.polaris.cobbletip.service.AnnouncementHistory;
+import com.polaris.cobbletip.service.AudienceIndex;
+import com.polaris.cobbletip.service.ProtectionService;
 import com.polaris.cobbletip.util.TipConfig;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
 import org.bukkit.command.TabCompleter;
+import org.bukkit.entity.Player;
 
 import java.util.List;
 
 public final class CobbleTipCommand implements CommandExecutor, TabCompleter {
+    private static final List<String> SUBCOMMANDS = List.of("reload", "stats", "toggle", "recent");
+
     private final CobbleTipPlugin plugin;
 
     public CobbleTipCommand(CobbleTipPlugin plugin) {
@@ -20,25 +28,109 @@ public final class CobbleTipCommand implements CommandExecutor, TabCompleter {
     @Override
     public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
         TipConfig cfg = plugin.getCfg();
+        if (args.length == 1 && args[0].equalsIgnoreCase("toggle")) {
+            toggle(sender, cfg);
+            return true;
+        }
+        if (args.length == 1 && args[0].equalsIgnoreCase("recent")) {
+            recent(sender, cfg);
+            return true;
+        }
         if (!sender.hasPermission("cobbletip.admin")) {
-            sender.sendMessage(Msg.color(Msg.apply(cfg.msgNoPermission(), cfg)));
+            sender.sendMessage(cfg.msgNoPermission().render());
             return true;
         }
         if (args.length == 1 && args[0].equalsIgnoreCase("reload")) {
             plugin.reloadAll();
             TipConfig newCfg = plugin.getCfg();
-            sender.sendMessage(Msg.color(Msg.apply(newCfg.msgReloaded(), newCfg)));
+            sender.sendMessage(newCfg.msgReloaded().render());
+            return true;
+        }
+        if (args.length == 1 && args[0].equalsIgnoreCase("stats")) {
+            sendStats(sender, cfg);
             return true;
         }
         return false;
     }
 
+    private void toggle(CommandSender sender, TipConfig cfg) {
+        if (!(sender instanceof Player player)) {
+            sender.sendMessage(cfg.msgPlayerOnly().render());
+            return;
+        }
+        if (!player.hasPermission("cobbletip.toggle")) {
+            player.sendMessage(cfg.msgNoPermission().render());
+            return;
+        }
+        boolean on = plugin.getAudience().toggle(player);
+        player.sendMessage((on ? cfg.msgAnnounceOn() : cfg.msgAnnounceOff()).render());
+    }
+
+    private void recent(CommandSender sender, TipConfig cfg) {
+        if (!sender.hasPermission("cobbletip.recent")) {
+            sender.sendMessage(cfg.msgNoPermission().render());
+            return;
+        }
+        List<AnnouncementHistory.Entry> entries = plugin.getHistory().recent();
+        if (sender instanceof Player player) {
+            // the same audience rules as the live send and the join replay
+            AudienceIndex audience = plugin.getAudience();
+            entries = entries.stream().filter(entry -> audience.accepts(player, entry.worldKey(), entry.blockXz())).toList();
+        }
+        if (entries.isEmpty()) {
+            sender.sendMessage(cfg.msgRecentEmpty().render());
+            return;
+        }
+        sender.sendMessage(cfg.msgRecentHeader().render("count", String.valueOf(entries.size())));
+        if (sender instanceof Player player) {
+            List<Player> target = List.of(player);
+            AnnouncementDispatcher dispatcher = plugin.getDispatcher();
+            for (AnnouncementHistory.Entry entry : entries) dispatcher.send(target, entry.message());
+        } else {
+            for (AnnouncementHistory.Entry entry : entries) entry.consoleLines().forEach(sender::sendMessage);
+        }
+    }
+
+    private void sendStats(CommandSender sender, TipConfig cfg) {
+        ProtectionService protection = plugin.getProtectionService();
+        sender.sendMessage(cfg.msgStatsProtection().render(
+                "entities", String.valueOf(protection.trackedEntityCount()),
+                "pokemon", String.valueOf(protection.protectedPokemonCount())));
+        sender.sendMessage(cfg.msgStatsShortCircuit().render("count", String.valueOf(protection.shortCircuitedLookups())));
+        sender.sendMessage(cfg.msgStatsTeleportTargets().render("count", String.valueOf(plugin.getTeleportService().trackedLocationCount())));
+        AnnouncementDispatcher dispatcher = plugin.getDispatcher();
+        sender.sendMessage(cfg.msgStatsDispatch().render(
+                "path", dispatcher.packetPathAvailable() ? "packet" : "bukkit",
+                "packet", String.valueOf(dispatcher.packetSends()),
+                "bukkit", String.valueOf(dispatcher.fallbackSends())));
+        AnnouncePipeline pipeline = plugin.getAnnouncePipeline();
+        sender.sendMessage(cfg.msgStatsPipeline().render(
+                "queued", String.valueOf(pipeline.queuedCount()),
+                "dropped", String.valueOf(pipeline.droppedCount()),
+                "failed", String.valueOf(pipeline.failedCount())));
+        AnnounceThrottle throttle = plugin.getAnnounceThrottle();
+        sender.sendMessage(cfg.msgStatsThrottle().render(
+                "coalesced", String.valueOf(throttle.coalescedCount()),
+                "overflow", String.valueOf(throttle.overflowCount())));
+        AudienceIndex audience = plugin.getAudience();
+        sender.sendMessage(cfg.msgStatsAudience().render("mode", audience.mode().name(), "players", String.valueOf(audience.size())));
+        sender.sendMessage(cfg.msgStatsLocales().render(
+                "clients", String.valueOf(audience.locales().size()),
+                "loaded", String.valueOf(plugin.getLang().loadedLocales()),
+                "default", plugin.getLang().defaultLocale()));
+        plugin.getPlayerState().sizes().forEach((name, size) ->
+                sender.sendMessage(cfg.msgStatsPlayerState().render("name", name, "size", String.valueOf(size))));
+    }
+
     @Override
     public List<String> onTabComplete(CommandSender sender, Command command, String alias, String[] args) {
-        if (!sender.hasPermission("cobbletip.admin")) return List.of();
         if (args.length == 1) {
             String p = args[0].toLowerCase();
-            if ("reload".startsWith(p)) return List.of("reload");
+            boolean admin = sender.hasPermission("cobbletip.admin");
+            return SUBCOMMANDS.stream()
+                    .filter(s -> admin || ((s.equals("toggle") || s.equals("recent")) && sender.hasPermission("cobbletip." + s)))
+                    .filter(s -> s.startsWith(p))
+                    .toList();
         }
         return List.of();
     }
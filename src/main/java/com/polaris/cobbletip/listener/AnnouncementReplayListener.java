@@ -0,0 +1,49 @@
+package com.polaris.cobbletip.listener;
+
+import com.polaris.cobbletip.CobbleTipPlugin;
+import com.polaris.cobbletip.service.AnnouncementDispatcher;
+import com.polaris.cobbletip.service.AnnouncementHistory;
+import com.polaris.cobbletip.service.AudienceIndex;
+import com.polaris.cobbletip.util.TipConfig;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+
+import java.util.List;
+
+public final class AnnouncementReplayListener implements Listener {
+    // let the join messages and the audience/grid join handlers go first
+    private static final long REPLAY_DELAY_TICKS = 40L;
+
+    private final CobbleTipPlugin plugin;
+    private final TipConfig cfg;
+    private final AnnouncementHistory history;
+    private final AudienceIndex audience;
+    private final AnnouncementDispatcher dispatcher;
+
+    public AnnouncementReplayListener(CobbleTipPlugin plugin, TipConfig cfg, AnnouncementHistory history, AudienceIndex audience,
+                                      AnnouncementDispatcher dispatcher) {
+        this.plugin = plugin;
+        this.cfg = cfg;
+        this.history = history;
+        this.audience = audience;
+        this.dispatcher = dispatcher;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(PlayerJoinEvent e) {
+        if (!cfg.historyReplayOnJoin() || history.size() == 0) return;
+        Player player = e.getPlayer();
+        Bukkit.getScheduler().runTaskLater(plugin, () -> {
+            if (!player.isOnline()) return;
+            List<Player> target = List.of(player);
+            for (AnnouncementHistory.Entry entry : history.recent()) {
+                if (!audience.accepts(player, entry.worldKey(), entry.blockXz())) continue;
+                dispatcher.send(target, entry.message());
+            }
+        }, REPLAY_DELAY_TICKS);
+    }
+}
@@ -0,0 +1,38 @@
+package com.polaris.cobbletip.listener;
+
+import com.polaris.cobbletip.service.AudienceIndex;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerLocaleChangeEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+public final class AudienceListener implements Listener {
+    private final AudienceIndex audience;
+
+    public AudienceListener(AudienceIndex audience) {
+        this.audience = audience;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(PlayerJoinEvent e) {
+        audience.add(e.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent e) {
+        audience.remove(e.getPlayer().getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChangedWorld(PlayerChangedWorldEvent e) {
+        audience.moved(e.getPlayer(), e.getFrom().getName());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onLocaleChange(PlayerLocaleChangeEvent e) {
+        audience.localeChanged(e.getPlayer(), e.getLocale());
+    }
+}
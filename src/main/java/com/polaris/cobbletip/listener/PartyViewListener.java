@@ -19,12 +19,38 @@ import org.bukkit.plugin.Plugin;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.logging.Level;
 
 public final class PartyViewListener implements Listener {
+    // loadClass walks up to four class loaders; remember hits per name. Misses are retried, since a class
+    // the warm-up thread could not see may be visible once the mod has finished loading.
+    private static final Map<String, Class<?>> CLASS_CACHE = new ConcurrentHashMap<>();
+    private static final List<String> PRELOAD_CLASSES = List.of(
+            "com.cobblemon.mod.common.CobblemonItems",
+            "com.cobblemon.mod.common.CobblemonItemComponents",
+            "com.cobblemon.mod.common.api.pokemon.PokemonSpecies",
+            "com.cobblemon.mod.common.item.PokemonItem",
+            "com.cobblemon.mod.common.item.components.PokemonItemComponent",
+            "net.minecraft.resources.ResourceLocation",
+            "net.minecraft.core.registries.BuiltInRegistries",
+            "net.minecraft.core.component.DataComponents",
+            "net.minecraft.network.chat.Component",
+            "net.minecraft.world.item.component.ItemLore",
+            "net.minecraft.world.item.ItemStack",
+            "net.minecraft.commands.arguments.item.ItemParser",
+            "net.minecraft.commands.CommandBuildContext",
+            "net.minecraft.world.flag.FeatureFlags",
+            "net.minecraft.nbt.TagParser",
+            "net.minecraft.nbt.NbtOps",
+            "com.mojang.brigadier.StringReader",
+            "com.mojang.serialization.DynamicOps"
+    );
+
     private final CobbleTipPlugin plugin;
     private final TipConfig cfg;
 
@@ -41,7 +67,7 @@ public final class PartyViewListener implements Listener {
         Player viewer = event.getPlayer();
 
         if (!viewer.hasPermission("cobbletip.partyview")) {
-            viewer.sendMessage(Msg.color(Msg.apply(cfg.msgNoPermission(), cfg)));
+            viewer.sendMessage(cfg.msgNoPermission().render());
             return;
         }
 
@@ -57,17 +83,17 @@ public final class PartyViewListener implements Listener {
             party = fetchPartyFromCore(target);
         } catch (Throwable t) {
             if (cfg.debug()) plugin.getLogger().warning("[CobbleTip] Failed to fetch party: " + t);
-            viewer.sendMessage(Msg.color(Msg.apply(cfg.msgPartyViewFailed(), cfg)));
+            viewer.sendMessage(cfg.msgPartyViewFailed().render());
             return;
         }
 
         if (party == null) party = List.of();
         if (party.isEmpty()) {
-            viewer.sendMessage(Msg.color(Msg.apply(cfg.msgPartyViewEmpty(), cfg, "player", target.getName())));
+            viewer.sendMessage(cfg.msgPartyViewEmpty().render("player", target.getName()));
             return;
         }
 
-        String title = Msg.color(Msg.apply(cfg.msgPartyViewTitle(), cfg, "player", target.getName()));
+        String title = cfg.msgPartyViewTitle().render("player", target.getName());
         int invSize = 9;
         Inventory inv = Bukkit.createInventory(new PartyViewHolder(target.getUniqueId()), invSize, title);
 
@@ -769,8 +795,23 @@ public final class PartyViewListener implements Listener {
         return null;
     }
 
+    /** Resolves every class the party view touches (warm-up thread), so the first click does no class lookups. */
+    public static void preloadClasses() {
+        for (String name : PRELOAD_CLASSES) {
+            try { loadClass(name); } catch (Throwable ignored) {}
+        }
+    }
+
     private static Class<?> loadClass(String name) throws ClassNotFoundException {
         if (name == null || name.isBlank()) throw new ClassNotFoundException("empty");
+        Class<?> cached = CLASS_CACHE.get(name);
+        if (cached != null) return cached;
+        Class<?> c = findClass(name);
+        CLASS_CACHE.put(name, c);
+        return c;
+    }
+
+    private static Class<?> findClass(String name) throws ClassNotFoundException {
 
         ClassLoader serverLoader = null;
         try {
@@ -0,0 +1,79 @@
+package com.polaris.cobbletip.listener;
+
+import com.polaris.cobbletip.service.PlayerGrid;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerMoveEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.player.PlayerRespawnEvent;
+import org.bukkit.event.player.PlayerTeleportEvent;
+import org.bukkit.event.vehicle.VehicleMoveEvent;
+
+public final class PlayerGridListener implements Listener {
+    private final PlayerGrid grid;
+
+    public PlayerGridListener(PlayerGrid grid) {
+        this.grid = grid;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(PlayerJoinEvent e) {
+        grid.update(e.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent e) {
+        grid.remove(e.getPlayer().getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onMove(PlayerMoveEvent e) {
+        Location from = e.getFrom();
+        Location to = e.getTo();
+        if (to == null) return;
+        // Most moves stay inside the chunk; only crossings touch the grid.
+        if ((from.getBlockX() >> 4) == (to.getBlockX() >> 4) && (from.getBlockZ() >> 4) == (to.getBlockZ() >> 4)
+                && from.getWorld() == to.getWorld()) return;
+        moveTo(e.getPlayer(), to);
+    }
+
+    /** Passengers get no PlayerMoveEvent of their own; PlayerGrid also polls riders for non-Bukkit mounts. */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onVehicleMove(VehicleMoveEvent e) {
+        Location from = e.getFrom();
+        Location to = e.getTo();
+        if ((from.getBlockX() >> 4) == (to.getBlockX() >> 4) && (from.getBlockZ() >> 4) == (to.getBlockZ() >> 4)
+                && from.getWorld() == to.getWorld()) return;
+        for (Entity passenger : e.getVehicle().getPassengers()) {
+            if (passenger instanceof Player p) moveTo(p, to);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onTeleport(PlayerTeleportEvent e) {
+        if (e.getTo() != null) moveTo(e.getPlayer(), e.getTo());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onRespawn(PlayerRespawnEvent e) {
+        moveTo(e.getPlayer(), e.getRespawnLocation());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChangedWorld(PlayerChangedWorldEvent e) {
+        grid.update(e.getPlayer());
+    }
+
+    private void moveTo(Player p, Location to) {
+        World world = to.getWorld();
+        if (world == null) return;
+        grid.update(p, world.getName(), to.getBlockX() >> 4, to.getBlockZ() >> 4);
+    }
+}
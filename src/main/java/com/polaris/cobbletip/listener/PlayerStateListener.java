@@ -0,0 +1,20 @@
+package com.polaris.cobbletip.listener;
+
+import com.polaris.cobbletip.service.PlayerStateStore;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+public final class PlayerStateListener implements Listener {
+    private final PlayerStateStore playerState;
+
+    public PlayerStateListener(PlayerStateStore playerState) {
+        this.playerState = playerState;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent e) {
+        playerState.evict(e.getPlayer().getUniqueId());
+    }
+}
@@ -1,7 +1,6 @@
 package com.polaris.cobbletip.listener;
 
 import com.polaris.cobbletip.service.ProtectionService;
-import com.polaris.cobbletip.util.Msg;
 import com.polaris.cobbletip.util.TipConfig;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
@@ -35,7 +34,7 @@ public final class ProtectionListener implements Listener {
         if (!res.denied()) return;
 
         e.setCancelled(true);
-        protection.notifyOnce(p, Msg.color(Msg.apply(cfg.msgProtectDeniedAttack(), cfg)));
+        protection.notifyOnce(p, cfg.msgProtectDeniedAttack().render());
     }
 
     @EventHandler
@@ -58,7 +57,7 @@ public final class ProtectionListener implements Listener {
         if (!res.denied()) return;
 
         e.setCancelled(true);
-        protection.notifyOnce(p, Msg.color(Msg.apply(cfg.msgProtectDeniedInteract(), cfg)));
+        protection.notifyOnce(p, cfg.msgProtectDeniedInteract().render());
     }
 
     @EventHandler(priority = EventPriority.LOWEST, ignoreCancelled = false)
@@ -71,7 +70,7 @@ public final class ProtectionListener implements Listener {
         if (!res.denied()) return;
 
         e.setCancelled(true);
-        protection.notifyOnce(p, Msg.color(Msg.apply(cfg.msgProtectDeniedInteract(), cfg)));
+        protection.notifyOnce(p, cfg.msgProtectDeniedInteract().render());
     }
 
     @EventHandler
@@ -86,7 +85,7 @@ public final class ProtectionListener implements Listener {
             var res = protection.checkDenied(target, p);
             if (!res.denied()) return;
             e.setCancelled(true);
-            protection.notifyOnce(p, Msg.color(Msg.apply(cfg.msgProtectDeniedInteract(), cfg)));
+            protection.notifyOnce(p, cfg.msgProtectDeniedInteract().render());
         } else {
             e.setCancelled(true);
         }
@@ -103,6 +102,6 @@ public final class ProtectionListener implements Listener {
         if (!res.denied()) return;
 
         e.setCancelled(true);
-        protection.notifyOnce(p, Msg.color(Msg.apply(cfg.msgProtectDeniedFish(), cfg)));
+        protection.notifyOnce(p, cfg.msgProtectDeniedFish().render());
     }
 }
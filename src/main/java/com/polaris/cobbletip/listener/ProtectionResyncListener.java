@@ -0,0 +1,35 @@
+package com.polaris.cobbletip.listener;
+
+import com.polaris.cobbletip.service.ProtectionService;
+import org.bukkit.entity.Entity;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.EntitiesLoadEvent;
+import org.bukkit.event.world.EntitiesUnloadEvent;
+
+/**
+ * Keeps ProtectionService's in-memory entity state in step with what is actually loaded:
+ * marked entities are restored when their chunk's entities load and evicted when they unload.
+ */
+public final class ProtectionResyncListener implements Listener {
+    private final ProtectionService protection;
+
+    public ProtectionResyncListener(ProtectionService protection) {
+        this.protection = protection;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntitiesLoad(EntitiesLoadEvent e) {
+        for (Entity entity : e.getEntities()) {
+            protection.onEntityLoaded(entity);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntitiesUnload(EntitiesUnloadEvent e) {
+        for (Entity entity : e.getEntities()) {
+            protection.onEntityUnloaded(entity);
+        }
+    }
+}
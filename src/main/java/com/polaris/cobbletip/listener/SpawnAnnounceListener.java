@@ -2,10 +2,21 @@ package com.polaris.cobbletip.listener;
 
 import com.polaris.cobblecore.bukkit.CobblePokemonSpawnEvent;
 import com.polaris.cobbletip.CobbleTipPlugin;
+import com.polaris.cobbletip.service.AnnouncePipeline;
+import com.polaris.cobbletip.service.AnnounceThrottle;
+import com.polaris.cobbletip.service.AnnouncementDispatcher;
+import com.polaris.cobbletip.service.AnnouncementHistory;
+import com.polaris.cobbletip.service.AudienceIndex;
+import com.polaris.cobbletip.service.PendingSpawnRegistry;
+import com.polaris.cobbletip.service.PlayerGrid;
 import com.polaris.cobbletip.service.ProtectionService;
 import com.polaris.cobbletip.service.TeleportService;
-import com.polaris.cobbletip.util.CobblemonZhCn;
+import com.polaris.cobbletip.service.WarmUp;
+import com.polaris.cobbletip.service.WorldDirectory;
+import com.polaris.cobbletip.util.CobblemonLang;
+import com.polaris.cobbletip.util.ComponentTemplate;
 import com.polaris.cobbletip.util.Msg;
+import com.polaris.cobbletip.util.MsgTemplate;
 import com.polaris.cobbletip.util.TipConfig;
 import net.md_5.bungee.api.chat.BaseComponent;
 import net.md_5.bungee.api.chat.ClickEvent;
@@ -19,25 +30,64 @@ import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 
-import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 
 public final class SpawnAnnounceListener implements Listener {
+    // upper bound on how long the render worker holds an announcement for the enable-time warm-up
+    private static final long WARM_UP_WAIT_MS = 10_000L;
 
     private final CobbleTipPlugin plugin;
     private final TipConfig cfg;
     private final TeleportService tp;
     private final ProtectionService protection;
-
-    public SpawnAnnounceListener(CobbleTipPlugin plugin, TipConfig cfg, TeleportService tp, ProtectionService protection) {
+    private final PendingSpawnRegistry pendingSpawns;
+    private final AnnouncementDispatcher dispatcher;
+    private final AnnouncePipeline pipeline;
+    private final AnnounceThrottle throttle;
+    private final AudienceIndex audience;
+    private final PlayerGrid playerGrid;
+    private final WorldDirectory worlds;
+    private final AnnouncementHistory history;
+    private final CobblemonLang lang;
+    private final WarmUp warmUp;
+
+    public SpawnAnnounceListener(CobbleTipPlugin plugin, TipConfig cfg, TeleportService tp, ProtectionService protection,
+                                 PendingSpawnRegistry pendingSpawns, AnnouncementDispatcher dispatcher, AnnouncePipeline pipeline,
+                                 AnnounceThrottle throttle, AudienceIndex audience, PlayerGrid playerGrid,
+                                 WorldDirectory worlds, AnnouncementHistory history, CobblemonLang lang,
+                                 WarmUp warmUp) {
         this.plugin = plugin;
         this.cfg = cfg;
         this.tp = tp;
         this.protection = protection;
+        this.pendingSpawns = pendingSpawns;
+        this.dispatcher = dispatcher;
+        this.pipeline = pipeline;
+        this.throttle = throttle;
+        this.audience = audience;
+        this.playerGrid = playerGrid;
+        this.worlds = worlds;
+        this.history = history;
+        this.lang = lang;
+        this.warmUp = warmUp;
     }
 
+    /** Everything the render stage needs, captured on the main thread; {@code locales} are the audience's client locales. */
+    private record SpawnSnapshot(TipConfig cfg, UUID pokemonUuid, String speciesId, String worldKey, String worldName,
+                                 int bx, int by, int bz, String nearbyName, String spawnSource, String bridgeSource,
+                                 String labels, List<String> lore, Set<String> locales) {}
+
+    /** {@code blockXz} holds x0, z0, x1, z1, ... of the announced spawn(s), for radius audiences. */
+    private record RenderedAnnouncement(String worldKey, int[] blockXz, List<String> consoleLines,
+                                        AnnouncementDispatcher.Localized message) {}
+
     @EventHandler
     public void onSpawn(CobblePokemonSpawnEvent e) {
         if (!cfg.announceEnabled()) return;
@@ -47,9 +97,8 @@ public final class SpawnAnnounceListener implements Listener {
 
         String speciesId = e.getSpeciesId();
         if (speciesId == null || speciesId.isBlank()) speciesId = "unknown";
-        String species = prettySpeciesName(speciesId);
 
-        World world = mapWorld(e.getWorldName());
+        World world = worlds.resolve(e.getWorldName());
         if (world == null) {
             if (cfg.debug()) plugin.getLogger().warning("[CobbleTip] Unknown world: " + e.getWorldName());
             return;
@@ -65,194 +114,209 @@ public final class SpawnAnnounceListener implements Listener {
         if (!force && !cfg.shouldAnnounceSource(e.getSpawnSource())) return;
 
         String worldKey = world.getName();
-        String worldName = worldDisplayName(world);
+        String worldName = worlds.displayName(world);
         int bx = loc.getBlockX(), by = loc.getBlockY(), bz = loc.getBlockZ();
 
-        Player nearbyPlayer = nearestPlayer(world, loc);
+        // Resolved once: the same player is named in the announcement and becomes the protection owner.
+        Player nearbyPlayer = playerGrid.nearest(world, loc.getX(), loc.getY(), loc.getZ());
         String nearbyName = nearbyPlayer == null ? "无" : nearbyPlayer.getName();
 
         String spawnSource = e.getSpawnSource() == null ? "OTHER" : e.getSpawnSource().name();
-        String spawnSourceZh = switch (spawnSource) {
-            case "COMMAND" -> "命令";
-            case "BAIT" -> "诱饵";
-            case "BOBBER" -> "钓鱼";
-            default -> "";
-        };
-        String sourcePart = spawnSourceZh.isBlank() ? "" : " &8(&b" + spawnSourceZh + "&8)";
+        List<String> lore = e.getPokemonLore();
+
+        // Register the teleport target before the click line can reach anyone.
+        if (cfg.tpEnabled()) tp.trackLocation(world, bx, by, bz);
+
+        if (cfg.protectEnabled()) {
+            UUID bukkitEntityUuid = e.getBukkitEntityUuid();
+            UUID owner = nearbyPlayer == null ? null : nearbyPlayer.getUniqueId();
+            scheduleProtect(loc, pokemonUuid, bukkitEntityUuid, owner, speciesId, worldName, bx, by, bz);
+        }
+
+        SpawnSnapshot snapshot = new SpawnSnapshot(cfg, pokemonUuid, speciesId, worldKey, worldName, bx, by, bz,
+                nearbyName, spawnSource, String.valueOf(e.getBridgeSource()),
+                cfg.debug() ? String.valueOf(labels) : "",
+                lore == null || lore.isEmpty() ? List.of() : Collections.unmodifiableList(new ArrayList<>(lore)),
+                cfg.localePerPlayer() ? audience.locales() : Set.of());
+        if (throttle.offer(worldKey, snapshot, this::submitDigest)) {
+            pipeline.submit(() -> render(snapshot), this::dispatch);
+        }
+    }
+
+    private void submitDigest(AnnounceThrottle.Digest<SpawnSnapshot> digest) {
+        pipeline.submit(() -> renderDigest(digest), this::dispatch);
+    }
+
+    /** Worker thread: translation, templates, components and JSON; touches no world state. */
+    private RenderedAnnouncement render(SpawnSnapshot s) {
+        warmUp.await(WARM_UP_WAIT_MS);
+        TipConfig cfg = s.cfg();
+        String species = lang.speciesName(null, s.speciesId());
+        String[] placeholders = placeholders(s, species);
 
         final HoverEvent hoverEvent;
-        List<String> hoverLore = e.getPokemonLore();
-        if (hoverLore != null && !hoverLore.isEmpty()) {
-            String hover = String.join("\n", hoverLore);
+        if (!s.lore().isEmpty()) {
+            String hover = String.join("\n", s.lore());
             hoverEvent = new HoverEvent(HoverEvent.Action.SHOW_TEXT, TextComponent.fromLegacyText(Msg.color(hover)));
         } else {
             hoverEvent = null;
         }
 
-        for (String line : cfg.msgAnnounceLines()) {
-            String rendered = Msg.apply(line, cfg,
-                    "species", species,
-                    "speciesId", speciesId,
-                    "world", worldName,
-                    "x", String.valueOf(bx),
-                    "y", String.valueOf(by),
-                    "z", String.valueOf(bz),
-                    "uuid", pokemonUuid.toString(),
-                    "nearby", nearbyName,
-                    "source", spawnSource,
-                    "sourceZh", spawnSourceZh,
-                    "sourcePart", sourcePart
-            );
-            String legacy = Msg.color(rendered);
-            Bukkit.getConsoleSender().sendMessage(legacy);
-
-            BaseComponent[] msg = TextComponent.fromLegacyText(legacy);
-            if (hoverEvent != null) {
-                applyHoverToSubstring(msg, species, hoverEvent);
-            }
-            Bukkit.getOnlinePlayers().forEach(p -> p.spigot().sendMessage(msg));
+        List<MsgTemplate> lines = cfg.msgAnnounceLines();
+        List<String> console = new ArrayList<>(lines.size());
+        for (MsgTemplate line : lines) console.add(line.render(placeholders));
+
+        List<AnnouncementDispatcher.Payload> fallback = encodeAnnouncement(s, placeholders, hoverEvent);
+        Map<String, List<AnnouncementDispatcher.Payload>> byLocale = localize(s.locales(), species, fallback,
+                locale -> lang.speciesName(locale, s.speciesId()),
+                locale -> encodeAnnouncement(s, placeholders(s, lang.speciesName(locale, s.speciesId())), hoverEvent));
+
+        if (cfg.debug()) {
+            plugin.getLogger().info("[CobbleTip] Announced: " + species + " @" + s.worldName() + " " + s.bx() + " " + s.by() + " " + s.bz()
+                    + " source=" + s.spawnSource() + " bridge=" + s.bridgeSource() + " labels=" + s.labels() + " uuid=" + s.pokemonUuid()
+                    + " speciesId=" + s.speciesId() + " nearby=" + s.nearbyName() + " locales=" + s.locales());
         }
+        return new RenderedAnnouncement(s.worldKey(), new int[] {s.bx(), s.bz()}, console,
+                new AnnouncementDispatcher.Localized(fallback, byLocale));
+    }
 
+    private List<AnnouncementDispatcher.Payload> encodeAnnouncement(SpawnSnapshot s, String[] placeholders, HoverEvent hoverEvent) {
+        TipConfig cfg = s.cfg();
+        List<ComponentTemplate> components = cfg.announceComponents();
+        List<AnnouncementDispatcher.Payload> payloads = new ArrayList<>(components.size() + 1);
+        for (ComponentTemplate component : components) {
+            payloads.add(dispatcher.encode(component.render(placeholders, null, hoverEvent)));
+        }
         if (cfg.tpEnabled()) {
-            tp.trackLocation(world, bx, by, bz);
-
-            String cmd = "/ctp " + worldKey + " " + bx + " " + by + " " + bz;
-            String clickLine = Msg.apply(cfg.msgClickLine(), cfg,
-                    "species", species,
-                    "speciesId", speciesId,
-                    "world", worldName,
-                    "x", String.valueOf(bx),
-                    "y", String.valueOf(by),
-                    "z", String.valueOf(bz),
-                    "uuid", pokemonUuid.toString(),
-                    "nearby", nearbyName,
-                    "source", spawnSource,
-                    "sourceZh", spawnSourceZh,
-                    "sourcePart", sourcePart
-            );
-
-            BaseComponent[] msg = TextComponent.fromLegacyText(Msg.color(clickLine));
-            ClickEvent click = new ClickEvent(ClickEvent.Action.RUN_COMMAND, cmd);
-
-            HoverEvent hover = null;
-            String hoverText = cfg.msgClickHover();
-            if (hoverText != null && !hoverText.isBlank()) {
-                String hoverRendered = Msg.apply(hoverText, cfg,
-                        "species", species,
-                        "speciesId", speciesId,
-                        "world", worldName,
-                        "x", String.valueOf(bx),
-                        "y", String.valueOf(by),
-                        "z", String.valueOf(bz),
-                        "uuid", pokemonUuid.toString(),
-                        "nearby", nearbyName,
-                        "source", spawnSource,
-                        "sourceZh", spawnSourceZh,
-                        "sourcePart", sourcePart
-                );
-                hover = new HoverEvent(HoverEvent.Action.SHOW_TEXT, TextComponent.fromLegacyText(Msg.color(hoverRendered)));
-            }
+            payloads.add(dispatcher.encode(cfg.clickLineComponents().render(placeholders, teleportClick(s), teleportHover(cfg, placeholders))));
+        }
+        return payloads;
+    }
+
+    /** Worker thread: one message with a header and one clickable line per coalesced spawn. */
+    private RenderedAnnouncement renderDigest(AnnounceThrottle.Digest<SpawnSnapshot> digest) {
+        warmUp.await(WARM_UP_WAIT_MS);
+        List<SpawnSnapshot> items = digest.items();
+        SpawnSnapshot last = items.get(items.size() - 1);
+        TipConfig cfg = last.cfg();
+
+        String[] headerPlaceholders = {
+                "world", items.get(0).worldName(),
+                "count", String.valueOf(items.size() + digest.omitted()),
+                "omitted", String.valueOf(digest.omitted())
+        };
+        List<String> console = new ArrayList<>(items.size() + 1);
+        console.add(cfg.msgDigestHeader().render(headerPlaceholders));
+        for (SpawnSnapshot s : items) console.add(cfg.msgDigestEntry().render(placeholders(s, lang.speciesName(null, s.speciesId()))));
 
-            applyClickToClickTextOnly(msg, cfg.msgClickText(), click, hover);
-            Bukkit.getOnlinePlayers().forEach(p -> p.spigot().sendMessage(msg));
+        List<AnnouncementDispatcher.Payload> fallback = List.of(encodeDigest(cfg, items, headerPlaceholders, null));
+        Map<String, List<AnnouncementDispatcher.Payload>> byLocale = localize(last.locales(), speciesNames(items, null), fallback,
+                locale -> speciesNames(items, locale),
+                locale -> List.of(encodeDigest(cfg, items, headerPlaceholders, locale)));
+
+        if (cfg.debug()) {
+            plugin.getLogger().info("[CobbleTip] Coalesced " + items.size() + " spawns (+" + digest.omitted() + " omitted) @" + digest.worldKey());
+        }
+        int[] blockXz = new int[items.size() * 2];
+        for (int i = 0; i < items.size(); i++) {
+            blockXz[i * 2] = items.get(i).bx();
+            blockXz[i * 2 + 1] = items.get(i).bz();
         }
+        return new RenderedAnnouncement(digest.worldKey(), blockXz, console, new AnnouncementDispatcher.Localized(fallback, byLocale));
+    }
 
-        if (cfg.protectEnabled()) {
-            UUID bukkitEntityUuid = e.getBukkitEntityUuid();
-            scheduleProtect(world, loc, pokemonUuid, bukkitEntityUuid, species, worldName, bx, by, bz);
+    private AnnouncementDispatcher.Payload encodeDigest(TipConfig cfg, List<SpawnSnapshot> items, String[] headerPlaceholders, String locale) {
+        List<BaseComponent> message = new ArrayList<>();
+        Collections.addAll(message, cfg.digestHeaderComponents().render(headerPlaceholders, null, null));
+        for (SpawnSnapshot s : items) {
+            String[] placeholders = placeholders(s, lang.speciesName(locale, s.speciesId()));
+            message.add(new TextComponent("\n"));
+            ClickEvent click = cfg.tpEnabled() ? teleportClick(s) : null;
+            HoverEvent hover = cfg.tpEnabled() ? teleportHover(cfg, placeholders) : null;
+            Collections.addAll(message, cfg.digestEntryComponents().render(placeholders, click, hover));
         }
+        return dispatcher.encode(message.toArray(new BaseComponent[0]));
+    }
 
-        if (cfg.debug()) {
-            plugin.getLogger().info("[CobbleTip] Announced: " + species + " @" + worldName + " " + bx + " " + by + " " + bz
-                    + " source=" + spawnSource + " bridge=" + e.getBridgeSource() + " labels=" + labels + " uuid=" + pokemonUuid + " speciesId=" + speciesId
-                    + " nearby=" + nearbyName);
+    private List<String> speciesNames(List<SpawnSnapshot> items, String locale) {
+        List<String> names = new ArrayList<>(items.size());
+        for (SpawnSnapshot s : items) names.add(lang.speciesName(locale, s.speciesId()));
+        return names;
+    }
+
+    /**
+     * One rendered variant per distinct translation. {@code keyFor} says what a locale would change (the species
+     * names); locales that match the default or each other share a list, so each variant is rendered and encoded once.
+     */
+    private static Map<String, List<AnnouncementDispatcher.Payload>> localize(
+            Set<String> locales, Object defaultKey, List<AnnouncementDispatcher.Payload> fallback,
+            Function<String, Object> keyFor, Function<String, List<AnnouncementDispatcher.Payload>> renderFor) {
+        if (locales.isEmpty()) return Map.of();
+        Map<Object, List<AnnouncementDispatcher.Payload>> variants = new HashMap<>();
+        variants.put(defaultKey, fallback);
+        Map<String, List<AnnouncementDispatcher.Payload>> byLocale = new HashMap<>(locales.size() * 2);
+        for (String locale : locales) {
+            byLocale.put(locale, variants.computeIfAbsent(keyFor.apply(locale), k -> renderFor.apply(locale)));
         }
+        return byLocale;
     }
 
-    private World mapWorld(String mcWorldId) {
-        if (mcWorldId == null) return null;
-
-        return switch (mcWorldId) {
-            case "minecraft:overworld" -> Bukkit.getWorld("world");
-            case "minecraft:the_nether" -> Bukkit.getWorld("world_nether");
-            case "minecraft:the_end" -> Bukkit.getWorld("world_the_end");
-            default -> {
-                World w = Bukkit.getWorld(mcWorldId);
-                if (w == null && mcWorldId.startsWith("minecraft:")) {
-                    w = Bukkit.getWorld(mcWorldId.substring("minecraft:".length()));
-                }
-                yield w;
-            }
+    private static String[] placeholders(SpawnSnapshot s, String species) {
+        String spawnSourceZh = switch (s.spawnSource()) {
+            case "COMMAND" -> "命令";
+            case "BAIT" -> "诱饵";
+            case "BOBBER" -> "钓鱼";
+            default -> "";
+        };
+        String sourcePart = spawnSourceZh.isBlank() ? "" : Msg.color(" &8(&b" + spawnSourceZh + "&8)");
+
+        return new String[] {
+                "species", species,
+                "speciesId", s.speciesId(),
+                "world", s.worldName(),
+                "x", String.valueOf(s.bx()),
+                "y", String.valueOf(s.by()),
+                "z", String.valueOf(s.bz()),
+                "uuid", s.pokemonUuid().toString(),
+                "nearby", s.nearbyName(),
+                "source", s.spawnSource(),
+                "sourceZh", spawnSourceZh,
+                "sourcePart", sourcePart
         };
     }
 
-    private static Player nearestPlayer(World world, Location loc) {
-        if (world == null || loc == null) return null;
-        Player best = null;
-        double bestD = Double.MAX_VALUE;
-        for (Player p : world.getPlayers()) {
-            double d = p.getLocation().distanceSquared(loc);
-            if (d < bestD) {
-                bestD = d;
-                best = p;
-            }
-        }
-        return best;
+    private static ClickEvent teleportClick(SpawnSnapshot s) {
+        String cmd = "/ctp " + s.worldKey() + " " + s.bx() + " " + s.by() + " " + s.bz();
+        return new ClickEvent(ClickEvent.Action.RUN_COMMAND, cmd);
     }
 
-    private static Entity resolveEntity(World world, UUID pokemonUuid, Location loc) {
-        if (pokemonUuid == null || world == null || loc == null) return null;
-
-        Entity direct = Bukkit.getEntity(pokemonUuid);
-        if (direct != null) return direct;
-
-        for (Entity e : world.getNearbyEntities(loc, 12, 12, 12)) {
-            Object handle = tryGetHandle(e);
-            if (handle == null) continue;
-            Object hu = tryInvoke(handle, "getUuid");
-            if (hu instanceof UUID id && id.equals(pokemonUuid)) return e;
-            Object pokemon = tryInvoke(handle, "getPokemon");
-            if (pokemon != null) {
-                Object pid = tryInvoke(pokemon, "getUuid");
-                if (pid instanceof UUID id && id.equals(pokemonUuid)) return e;
-            }
-        }
-        return null;
+    private static HoverEvent teleportHover(TipConfig cfg, String[] placeholders) {
+        if (cfg.msgClickHover().isBlank()) return null;
+        return new HoverEvent(HoverEvent.Action.SHOW_TEXT, cfg.clickHoverComponents().render(placeholders, null, null));
     }
 
-    private void scheduleProtect(World world, Location loc, UUID pokemonUuid, UUID bukkitEntityUuid, String species,
+    /** Main thread. */
+    private void dispatch(RenderedAnnouncement a) {
+        for (String line : a.consoleLines()) Bukkit.getConsoleSender().sendMessage(line);
+        List<Player> recipients = audience.recipients(a.worldKey(), a.blockXz());
+        dispatcher.send(recipients, a.message());
+        history.record(a.worldKey(), a.blockXz(), a.consoleLines(), a.message());
+    }
+
+    private void scheduleProtect(Location loc, UUID pokemonUuid, UUID bukkitEntityUuid, UUID owner, String speciesId,
                                  String worldName, int bx, int by, int bz) {
-        final String speciesFinal = species;
+        final String speciesIdFinal = speciesId;
         final String worldNameFinal = worldName;
         final int bxFinal = bx;
         final int byFinal = by;
         final int bzFinal = bz;
         final long durationSeconds = cfg.protectDurationSeconds();
 
-        Player nearestAtDiscover = nearestPlayer(world, loc);
-        UUID owner = nearestAtDiscover == null ? null : nearestAtDiscover.getUniqueId();
-
         if (pokemonUuid != null) {
             protection.trackAndProtect(null, owner, durationSeconds, pokemonUuid);
         }
 
-        final int[] left = {20};
-        Bukkit.getScheduler().runTaskTimer(plugin, task -> {
-            Entity entity = null;
-            if (bukkitEntityUuid != null) entity = Bukkit.getEntity(bukkitEntityUuid);
-            if (entity == null) entity = resolveEntity(world, pokemonUuid, loc);
-
-            left[0]--;
-            if (entity == null && left[0] > 0) return;
-            task.cancel();
-            if (entity == null) {
-                if (cfg.debug()) {
-                    plugin.getLogger().warning("[CobbleTip] Failed to resolve spawned pokemon entity for protection: "
-                            + speciesFinal + " @" + worldNameFinal + " " + bxFinal + " " + byFinal + " " + bzFinal);
-                }
-                return;
-            }
-
+        pendingSpawns.await(loc, pokemonUuid, bukkitEntityUuid, entity -> {
             protection.trackAndProtect(entity.getUniqueId(), owner, durationSeconds, pokemonUuid);
             try { entity.setGlowing(true); } catch (Throwable ignored) {}
 
@@ -263,125 +327,19 @@ public final class SpawnAnnounceListener implements Listener {
                     if (entityFinal.isValid()) entityFinal.setGlowing(false);
                 } catch (Throwable ignored) {}
                 protection.untrack(entityFinal);
-                Bukkit.broadcastMessage(Msg.color(Msg.apply(cfg.msgProtectExpired(), cfg,
-                        "species", speciesFinal,
+                Bukkit.broadcastMessage(cfg.msgProtectExpired().render(
+                        "species", lang.speciesName(null, speciesIdFinal),
                         "world", worldNameFinal,
                         "x", String.valueOf(bxFinal),
                         "y", String.valueOf(byFinal),
                         "z", String.valueOf(bzFinal)
-                )));
+                ));
             }, ticks);
-        }, 1L, 5L);
-    }
-
-    private static Object tryGetHandle(Entity bukkitEntity) {
-        if (bukkitEntity == null) return null;
-        try {
-            Method m = bukkitEntity.getClass().getMethod("getHandle");
-            m.setAccessible(true);
-            return m.invoke(bukkitEntity);
-        } catch (Throwable ignored) {
-            return null;
-        }
-    }
-
-    private static Object tryInvoke(Object target, String methodName) {
-        if (target == null) return null;
-        try {
-            Method m = target.getClass().getMethod(methodName);
-            m.setAccessible(true);
-            return m.invoke(target);
-        } catch (Throwable ignored) {
-            return null;
-        }
-    }
-
-    private static String prettySpeciesName(String speciesId) {
-        if (speciesId == null) return "unknown";
-        String s = speciesId.trim();
-        if (s.isBlank()) return "unknown";
-        int colon = s.indexOf(':');
-        if (colon >= 0 && colon + 1 < s.length()) s = s.substring(colon + 1);
-        s = s.replace('_', ' ').replace('-', ' ').trim();
-        if (s.isBlank()) return "unknown";
-        String fallback = Character.toUpperCase(s.charAt(0)) + s.substring(1);
-        return CobblemonZhCn.speciesNameFromSpeciesId(speciesId, fallback);
-    }
-
-    private static String worldDisplayName(World world) {
-        if (world == null) return "unknown";
-        try {
-            Object mv = Bukkit.getPluginManager().getPlugin("Multiverse-Core");
-            if (mv != null) {
-                Method m1 = mv.getClass().getMethod("getMVWorldManager");
-                Object manager = m1.invoke(mv);
-                if (manager != null) {
-                    Method m2 = manager.getClass().getMethod("getMVWorld", World.class);
-                    Object mvWorld = m2.invoke(manager, world);
-                    if (mvWorld != null) {
-                        Method m3 = mvWorld.getClass().getMethod("getAlias");
-                        Object alias = m3.invoke(mvWorld);
-                        if (alias instanceof String s && !s.isBlank()) return s;
-                    }
-                }
-            }
-        } catch (Throwable ignored) {}
-        return world.getName();
-    }
-
-    private static void applyHoverToSubstring(BaseComponent[] msg, String needle, HoverEvent hoverEvent) {
-        if (msg == null || msg.length == 0) return;
-        if (needle == null || needle.isBlank() || hoverEvent == null) return;
-
-        for (BaseComponent c : msg) {
-            if (c == null) continue;
-            String plain;
-            try { plain = c.toPlainText(); } catch (Throwable t) { plain = null; }
-            if (plain == null || plain.isBlank()) continue;
-            if (plain.contains(needle)) {
-                c.setHoverEvent(hoverEvent);
-            }
-        }
-    }
-
-    private static void applyClickToClickTextOnly(BaseComponent[] msg, String clickTextCfg, ClickEvent click, HoverEvent hover) {
-        if (msg == null || msg.length == 0 || click == null) return;
-        String needle = stripColors(Msg.color(clickTextCfg == null ? "" : clickTextCfg));
-        if (needle.isBlank()) needle = "点击传送";
-
-        boolean matched = false;
-        for (BaseComponent c : msg) {
-            if (c == null) continue;
-            String plain;
-            try { plain = c.toPlainText(); } catch (Throwable t) { plain = null; }
-            if (plain == null) continue;
-            if (plain.contains(needle)) {
-                c.setClickEvent(click);
-                if (hover != null) c.setHoverEvent(hover);
-                matched = true;
-            }
-        }
-
-        if (!matched) {
-            for (BaseComponent c : msg) {
-                if (c == null) continue;
-                c.setClickEvent(click);
-                if (hover != null) c.setHoverEvent(hover);
+        }, () -> {
+            if (cfg.debug()) {
+                plugin.getLogger().warning("[CobbleTip] Failed to resolve spawned pokemon entity for protection: "
+                        + speciesIdFinal + " @" + worldNameFinal + " " + bxFinal + " " + byFinal + " " + bzFinal);
             }
-        }
-    }
-
-    private static String stripColors(String s) {
-        if (s == null || s.isEmpty()) return "";
-        StringBuilder out = new StringBuilder(s.length());
-        for (int i = 0; i < s.length(); i++) {
-            char c = s.charAt(i);
-            if ((c == '\u00A7' || c == '&') && i + 1 < s.length()) {
-                i++;
-                continue;
-            }
-            out.append(c);
-        }
-        return out.toString();
+        });
     }
 }
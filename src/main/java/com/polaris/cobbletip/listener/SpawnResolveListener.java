@@ -0,0 +1,20 @@
+package com.polaris.cobbletip.listener;
+
+import com.polaris.cobbletip.service.PendingSpawnRegistry;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntitySpawnEvent;
+
+public final class SpawnResolveListener implements Listener {
+    private final PendingSpawnRegistry pending;
+
+    public SpawnResolveListener(PendingSpawnRegistry pending) {
+        this.pending = pending;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntitySpawn(EntitySpawnEvent e) {
+        pending.onEntityAdded(e.getEntity());
+    }
+}
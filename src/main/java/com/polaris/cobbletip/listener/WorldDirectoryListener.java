@@ -0,0 +1,33 @@
+package com.polaris.cobbletip.listener;
+
+import com.polaris.cobbletip.service.WorldDirectory;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.WorldLoadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+import org.bukkit.plugin.Plugin;
+
+public final class WorldDirectoryListener implements Listener {
+    private final Plugin plugin;
+    private final WorldDirectory worlds;
+
+    public WorldDirectoryListener(Plugin plugin, WorldDirectory worlds) {
+        this.plugin = plugin;
+        this.worlds = worlds;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onWorldLoad(WorldLoadEvent e) {
+        World w = e.getWorld();
+        worlds.add(w);
+        Bukkit.getScheduler().runTask(plugin, () -> worlds.refreshAlias(w));
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onWorldUnload(WorldUnloadEvent e) {
+        worlds.remove(e.getWorld());
+    }
+}
@@ -0,0 +1,96 @@
+package com.polaris.cobbletip.service;
+
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Two-stage announce pipeline: render off the main thread, dispatch back on it.
+ * <p>
+ * Callers capture everything that needs the world on the main thread, then {@link #submit} a render step
+ * (pure work over that snapshot: translation, templates, components, JSON) and a dispatch step. Rendering
+ * runs on one daemon worker behind a bounded queue; when the queue is full the announcement is dropped and
+ * counted, so a mass spawn never backs up into the tick. The dispatch step is scheduled on the next tick.
+ */
+public final class AnnouncePipeline {
+    private final Plugin plugin;
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    private volatile ThreadPoolExecutor worker;
+    private int capacity;
+
+    public AnnouncePipeline(Plugin plugin, int queueCapacity) {
+        this.plugin = plugin;
+        this.capacity = Math.max(1, queueCapacity);
+        this.worker = newWorker(capacity);
+    }
+
+    /** Swaps in a worker with the new queue size; already queued renders finish on the old one. */
+    public void reload(int queueCapacity) {
+        int c = Math.max(1, queueCapacity);
+        if (c == capacity) return;
+        capacity = c;
+        ThreadPoolExecutor old = worker;
+        worker = newWorker(c);
+        old.shutdown();
+    }
+
+    public <T> void submit(Supplier<T> render, Consumer<T> dispatch) {
+        worker.execute(() -> {
+            T rendered;
+            try {
+                rendered = render.get();
+            } catch (Throwable t) {
+                failed.increment();
+                plugin.getLogger().warning("[CobbleTip] Announce render failed: " + t);
+                return;
+            }
+            if (rendered == null) return;
+            try {
+                Bukkit.getScheduler().runTask(plugin, () -> dispatch.accept(rendered));
+            } catch (Throwable ignored) {
+                // plugin disabled while rendering
+            }
+        });
+    }
+
+    public long droppedCount() {
+        return dropped.sum();
+    }
+
+    public long failedCount() {
+        return failed.sum();
+    }
+
+    public int queuedCount() {
+        return worker.getQueue().size();
+    }
+
+    public void shutdown() {
+        ThreadPoolExecutor w = worker;
+        w.shutdown();
+        try {
+            if (!w.awaitTermination(1, TimeUnit.SECONDS)) w.shutdownNow();
+        } catch (InterruptedException e) {
+            w.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private ThreadPoolExecutor newWorker(int queueCapacity) {
+        return new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "CobbleTip-Announce");
+                    t.setDaemon(true);
+                    return t;
+                },
+                (r, executor) -> dropped.increment());
+    }
+}
@@ -0,0 +1,132 @@
+package com.polaris.cobbletip.service;
+
+import com.polaris.cobbletip.util.TipConfig;
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Per-world rate limit in front of the announce pipeline.
+ * <p>
+ * Each world has a token bucket ({@code announce.burst.tokens} deep, one token back every
+ * {@code announce.burst.refillSeconds}). A spawn that gets a token is announced on its own. Once a world
+ * is out of tokens, spawns are collected into a window of {@code announce.burst.windowTicks} and handed
+ * over as one {@link Digest}; entries beyond {@code announce.burst.maxDigestEntries} are only counted.
+ * While a window is open, later spawns in that world join it so the digest stays in order. Main thread only.
+ */
+public final class AnnounceThrottle {
+
+    /** Spawns coalesced in one window; {@code omitted} were over the entry limit. */
+    public record Digest<T>(String worldKey, List<T> items, int omitted) {}
+
+    private static final class Window {
+        final List<Object> items = new ArrayList<>();
+        final Consumer<Digest<Object>> flush;
+        int omitted;
+
+        Window(Consumer<Digest<Object>> flush) {
+            this.flush = flush;
+        }
+    }
+
+    private static final class Bucket {
+        double tokens;
+        long refilledAt;
+        Window window;
+
+        Bucket(double tokens, long now) {
+            this.tokens = tokens;
+            this.refilledAt = now;
+        }
+    }
+
+    private final Plugin plugin;
+    private final Map<String, Bucket> buckets = new HashMap<>();
+
+    private boolean enabled;
+    private int capacity;
+    private long refillMs;
+    private long windowTicks;
+    private int maxEntries;
+
+    private long coalesced;
+    private long overflow;
+
+    public AnnounceThrottle(Plugin plugin, TipConfig cfg) {
+        this.plugin = plugin;
+        reload(cfg);
+    }
+
+    public void reload(TipConfig cfg) {
+        this.enabled = cfg.burstEnabled();
+        this.capacity = cfg.burstTokens();
+        this.refillMs = cfg.burstRefillSeconds() * 1000L;
+        this.windowTicks = cfg.burstWindowTicks();
+        this.maxEntries = cfg.burstMaxDigestEntries();
+        for (Bucket b : buckets.values()) b.tokens = Math.min(b.tokens, capacity);
+    }
+
+    /**
+     * @return true if the spawn should be announced on its own; false if it went into (or was counted
+     * against) the world's digest, which {@code flush} receives when the window closes
+     */
+    @SuppressWarnings("unchecked")
+    public <T> boolean offer(String worldKey, T item, Consumer<Digest<T>> flush) {
+        if (!enabled) return true;
+
+        long now = System.currentTimeMillis();
+        Bucket b = buckets.computeIfAbsent(worldKey, k -> new Bucket(capacity, now));
+        refill(b, now);
+        if (b.window == null && b.tokens >= 1.0) {
+            b.tokens -= 1.0;
+            return true;
+        }
+
+        if (b.window == null) {
+            Window w = new Window((Consumer<Digest<Object>>) (Consumer<?>) flush);
+            b.window = w;
+            Bukkit.getScheduler().runTaskLater(plugin, () -> close(worldKey, b, w), windowTicks);
+        }
+        if (b.window.items.size() >= maxEntries) {
+            b.window.omitted++;
+            overflow++;
+        } else {
+            b.window.items.add(item);
+            coalesced++;
+        }
+        return false;
+    }
+
+    /** Spawns announced through a digest instead of on their own. */
+    public long coalescedCount() {
+        return coalesced;
+    }
+
+    /** Spawns over the digest entry limit (counted in the header, not listed). */
+    public long overflowCount() {
+        return overflow;
+    }
+
+    private void close(String worldKey, Bucket b, Window w) {
+        if (b.window == w) b.window = null;
+        if (w.items.isEmpty()) return;
+        w.flush.accept(new Digest<>(worldKey, List.copyOf(w.items), w.omitted));
+    }
+
+    private void refill(Bucket b, long now) {
+        if (refillMs <= 0) {
+            b.tokens = capacity;
+            b.refilledAt = now;
+            return;
+        }
+        long elapsed = now - b.refilledAt;
+        if (elapsed <= 0) return;
+        b.tokens = Math.min(capacity, b.tokens + (double) elapsed / refillMs);
+        b.refilledAt = now;
+    }
+}
@@ -0,0 +1,229 @@
+package com.polaris.cobbletip.service;
+
+import com.polaris.cobbletip.util.NmsHandles;
+import net.md_5.bungee.api.chat.BaseComponent;
+import net.md_5.bungee.chat.ComponentSerializer;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sends one chat message to many players with a single encode.
+ * <p>
+ * {@link #encode} serializes the components to JSON once and, when the server exposes it, builds one
+ * system chat packet from that JSON; {@link #send} hands the same packet to every recipient's connection.
+ * The packet path is resolved reflectively by {@link #warm} at enable, or else on first use (CraftChatMessage.fromJSON,
+ * ClientboundSystemChatPacket, ServerPlayer.connection.send). If any piece is missing or a send fails,
+ * it is switched off and messages go through {@code spigot().sendMessage} as before. {@link #encode} may run
+ * on any thread; sending is main thread only.
+ * <p>
+ * A {@link Localized} message carries one encoded variant per client locale. Recipients are grouped by the
+ * variant their locale selects, so each variant goes out once per group rather than being built per player.
+ */
+public final class AnnouncementDispatcher {
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final String SYSTEM_CHAT_PACKET = "net.minecraft.network.protocol.game.ClientboundSystemChatPacket";
+
+    /** An encoded message; {@code packet} is null when the packet path is unavailable. */
+    public record Payload(BaseComponent[] components, String json, Object packet) {}
+
+    /**
+     * A message rendered per locale. Locales that render identically share one list; players whose locale is
+     * not in {@code byLocale} (or when it is empty) get {@code fallback}.
+     */
+    public record Localized(List<Payload> fallback, Map<String, List<Payload>> byLocale) {
+        public List<Payload> forLocale(String locale) {
+            List<Payload> payloads = locale == null ? null : byLocale.get(locale);
+            return payloads == null ? fallback : payloads;
+        }
+    }
+
+    private record PacketPath(MethodHandle fromJson, MethodHandle newPacket, MethodHandle connection, MethodHandle send) {}
+
+    private final Plugin plugin;
+
+    private volatile boolean probed;
+    private volatile PacketPath path;
+
+    private long packetSends;
+    private long fallbackSends;
+
+    public AnnouncementDispatcher(Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    public Payload encode(BaseComponent[] components) {
+        String json = ComponentSerializer.toString(components);
+        Object packet = null;
+        PacketPath p = path;
+        if (p != null) {
+            try {
+                Object component = (Object) p.fromJson().invokeExact(json);
+                packet = (Object) p.newPacket().invokeExact(component, false);
+            } catch (Throwable t) {
+                disable("encode", t);
+            }
+        }
+        return new Payload(components, json, packet);
+    }
+
+    public void send(Collection<? extends Player> recipients, Payload payload) {
+        if (recipients.isEmpty()) return;
+        if (!probed) {
+            probed = true;
+            Object handle = NmsHandles.handle(recipients.iterator().next());
+            path = handle == null ? null : probe(handle.getClass());
+            // The first payload was encoded before the probe; rebuild it so this message takes the packet path too.
+            if (path != null && payload.packet() == null) payload = encode(payload.components());
+        }
+
+        for (Player player : recipients) {
+            Object packet = path == null ? null : payload.packet();
+            if (packet != null && sendPacket(player, packet)) {
+                packetSends++;
+                continue;
+            }
+            player.spigot().sendMessage(payload.components());
+            fallbackSends++;
+        }
+    }
+
+    public void send(Collection<? extends Player> recipients, Localized message) {
+        if (recipients.isEmpty()) return;
+        if (message.byLocale().isEmpty()) {
+            for (Payload payload : message.fallback()) send(recipients, payload);
+            return;
+        }
+        Map<List<Payload>, List<Player>> groups = new IdentityHashMap<>();
+        for (Player player : recipients) {
+            groups.computeIfAbsent(message.forLocale(player.getLocale()), k -> new ArrayList<>()).add(player);
+        }
+        for (Map.Entry<List<Payload>, List<Player>> group : groups.entrySet()) {
+            for (Payload payload : group.getKey()) send(group.getValue(), payload);
+        }
+    }
+
+    /**
+     * Resolves the packet path from the server's CraftPlayer class, so it is ready before anyone joins and the
+     * first announcement is already encoded as a packet (warm-up thread).
+     */
+    public void warm() {
+        if (probed) return;
+        try {
+            Class<?> craftPlayer = Class.forName(Bukkit.getServer().getClass().getPackage().getName() + ".entity.CraftPlayer");
+            NmsHandles.preload(craftPlayer);
+            PacketPath p = probe(craftPlayer.getMethod("getHandle").getReturnType());
+            path = p;
+            probed = true;
+        } catch (Throwable ignored) {
+            // leave it to the first send, which probes a live player
+        }
+    }
+
+    /** Encodes once and sends to everyone online. */
+    public void broadcast(BaseComponent[] components) {
+        Collection<? extends Player> online = Bukkit.getOnlinePlayers();
+        if (online.isEmpty()) return;
+        send(online, encode(components));
+    }
+
+    public boolean packetPathAvailable() {
+        return path != null;
+    }
+
+    public long packetSends() {
+        return packetSends;
+    }
+
+    public long fallbackSends() {
+        return fallbackSends;
+    }
+
+    private boolean sendPacket(Player player, Object packet) {
+        PacketPath p = path;
+        try {
+            Object handle = NmsHandles.handle(player);
+            if (handle == null) return false;
+            Object connection = (Object) p.connection().invokeExact(handle);
+            if (connection == null) return false;
+            p.send().invokeExact(connection, packet);
+            return true;
+        } catch (Throwable t) {
+            disable("send", t);
+            return false;
+        }
+    }
+
+    private void disable(String stage, Throwable t) {
+        if (path == null) return;
+        path = null;
+        plugin.getLogger().warning("[CobbleTip] Packet chat path failed at " + stage + ", using Bukkit sendMessage: " + t);
+    }
+
+    private PacketPath probe(Class<?> handleType) {
+        try {
+            ClassLoader nmsLoader = handleType.getClassLoader();
+
+            Class<?> chatMessage = Class.forName(Bukkit.getServer().getClass().getPackage().getName() + ".util.CraftChatMessage");
+            Method fromJson = chatMessage.getMethod("fromJSON", String.class);
+            Class<?> componentType = fromJson.getReturnType();
+
+            Class<?> packetType = Class.forName(SYSTEM_CHAT_PACKET, false, nmsLoader);
+            Constructor<?> ctor = packetType.getConstructor(componentType, boolean.class);
+
+            Field connectionField = findConnectionField(handleType, packetType);
+            if (connectionField == null) return null;
+            connectionField.setAccessible(true);
+            Method send = findSend(connectionField.getType(), packetType);
+            if (send == null) return null;
+            send.setAccessible(true);
+
+            return new PacketPath(
+                    LOOKUP.unreflect(fromJson).asType(MethodType.methodType(Object.class, String.class)),
+                    LOOKUP.unreflectConstructor(ctor).asType(MethodType.methodType(Object.class, Object.class, boolean.class)),
+                    LOOKUP.unreflectGetter(connectionField).asType(MethodType.methodType(Object.class, Object.class)),
+                    LOOKUP.unreflect(send).asType(MethodType.methodType(void.class, Object.class, Object.class)));
+        } catch (Throwable t) {
+            plugin.getLogger().info("[CobbleTip] Packet chat path unavailable, using Bukkit sendMessage (" + t.getClass().getSimpleName() + ")");
+            return null;
+        }
+    }
+
+    // ServerPlayer.connection under Mojang names; otherwise the first field whose type can send this packet.
+    private static Field findConnectionField(Class<?> playerType, Class<?> packetType) {
+        for (Class<?> c = playerType; c != null && c != Object.class; c = c.getSuperclass()) {
+            try {
+                Field f = c.getDeclaredField("connection");
+                if (findSend(f.getType(), packetType) != null) return f;
+            } catch (NoSuchFieldException ignored) {}
+        }
+        for (Class<?> c = playerType; c != null && c != Object.class; c = c.getSuperclass()) {
+            for (Field f : c.getDeclaredFields()) {
+                if (Modifier.isStatic(f.getModifiers()) || f.getType().isPrimitive()) continue;
+                if (findSend(f.getType(), packetType) != null) return f;
+            }
+        }
+        return null;
+    }
+
+    private static Method findSend(Class<?> connectionType, Class<?> packetType) {
+        for (Method m : connectionType.getMethods()) {
+            if (!m.getName().equals("send") || m.getParameterCount() != 1) continue;
+            if (m.getParameterTypes()[0].isAssignableFrom(packetType)) return m;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,80 @@
+package com.polaris.cobbletip.service;
+
+import com.polaris.cobbletip.util.TipConfig;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The last few announcements, kept exactly as they were sent.
+ * <p>
+ * A fixed-size ring of already encoded (per-locale) payloads with the world and block x/z they point at. Late joiners and
+ * {@code /cobbletip recent} get the stored payloads again, so replay never re-renders or touches the world.
+ * Entries live for {@code announce.history.ttlSeconds}, capped at {@code protection.durationSeconds} so a replayed
+ * /ctp link never outlives the teleport target it points at.
+ * Main thread only.
+ */
+public final class AnnouncementHistory {
+
+    public record Entry(long expireAt, String worldKey, int[] blockXz, List<String> consoleLines,
+                        AnnouncementDispatcher.Localized message) {}
+
+    private Entry[] ring;
+    private int head; // next slot to write
+    private int count;
+    private long ttlMs;
+
+    public AnnouncementHistory(TipConfig cfg) {
+        this.ring = new Entry[Math.max(1, cfg.historySize())];
+        this.ttlMs = ttlMs(cfg);
+    }
+
+    /** Keeps the newest entries that still fit when the size changes. */
+    public void reload(TipConfig cfg) {
+        this.ttlMs = ttlMs(cfg);
+        int size = Math.max(1, cfg.historySize());
+        if (size == ring.length) return;
+        List<Entry> keep = newestFirst(Long.MIN_VALUE);
+        ring = new Entry[size];
+        head = 0;
+        count = 0;
+        for (int i = Math.min(keep.size(), size) - 1; i >= 0; i--) append(keep.get(i));
+    }
+
+    public void record(String worldKey, int[] blockXz, List<String> consoleLines, AnnouncementDispatcher.Localized message) {
+        if (ttlMs <= 0) return;
+        append(new Entry(System.currentTimeMillis() + ttlMs, worldKey, blockXz, consoleLines, message));
+    }
+
+    /** Unexpired entries, oldest first (chat order). */
+    public List<Entry> recent() {
+        List<Entry> out = newestFirst(System.currentTimeMillis());
+        Collections.reverse(out);
+        return out;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    private static long ttlMs(TipConfig cfg) {
+        return Math.min(cfg.historyTtlSeconds(), cfg.protectDurationSeconds()) * 1000L;
+    }
+
+    private void append(Entry e) {
+        ring[head] = e;
+        head = (head + 1) % ring.length;
+        if (count < ring.length) count++;
+    }
+
+    private List<Entry> newestFirst(long now) {
+        List<Entry> out = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            Entry e = ring[(head - i + ring.length) % ring.length];
+            if (e == null || e.expireAt() <= now) break;
+            out.add(e);
+        }
+        return out;
+    }
+}
@@ -0,0 +1,233 @@
+package com.polaris.cobbletip.service;
+
+import com.polaris.cobbletip.util.TipConfig;
+import org.bukkit.Bukkit;
+import org.bukkit.NamespacedKey;
+import org.bukkit.entity.Player;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
+import org.bukkit.plugin.Plugin;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Who receives spawn announcements, indexed by world.
+ * <p>
+ * Players are sorted into tiers when they join (and again on reload): {@code cobbletip.announce.global}
+ * hears every announcement, {@code cobbletip.announce.world} hears everything in their current world, and
+ * everyone else follows {@code announce.audience.mode} (ALL, WORLD, or RADIUS within
+ * {@code announce.audience.radiusChunks}). RADIUS asks the {@link PlayerGrid} for the chunk rings around each
+ * spawn instead of walking the world. Players who opted out with {@code /cobbletip toggle} (stored in
+ * their PersistentDataContainer) are not indexed at all. The index is kept current on join, quit and world
+ * change, so a spawn only walks its own world's members. The set of client locales among members is kept
+ * alongside, so the renderer knows which translations it needs. Main thread only.
+ */
+public final class AudienceIndex {
+    public enum Mode { ALL, WORLD, RADIUS }
+
+    private enum Tier { GLOBAL, WORLD, LOCAL }
+
+    public static final String PERM_GLOBAL = "cobbletip.announce.global";
+    public static final String PERM_WORLD = "cobbletip.announce.world";
+
+    private final NamespacedKey optOutKey;
+    private final PlayerGrid grid;
+
+    private final Map<UUID, Tier> tiers = new HashMap<>();
+    private final Map<UUID, Player> global = new LinkedHashMap<>();
+    private final Map<String, Map<UUID, Player>> byWorld = new HashMap<>();
+    // the WORLD-tier subset of byWorld, which RADIUS mode includes without a grid query
+    private final Map<String, Map<UUID, Player>> worldTier = new HashMap<>();
+    private final List<Player> nearby = new ArrayList<>();
+    private int size;
+
+    private final Map<UUID, String> localeOf = new HashMap<>();
+    private final Map<String, Integer> localeCounts = new HashMap<>();
+    private Set<String> locales = Set.of();
+
+    private Mode mode = Mode.ALL;
+    private int radiusChunks;
+
+    public AudienceIndex(Plugin plugin, TipConfig cfg, PlayerGrid grid) {
+        this.optOutKey = new NamespacedKey(plugin, "announce_opt_out");
+        this.grid = grid;
+        reload(cfg);
+    }
+
+    /** Re-reads the mode and rebuilds tiers for everyone online (permissions may have changed). */
+    public void reload(TipConfig cfg) {
+        this.mode = parseMode(cfg.announceAudienceMode());
+        this.radiusChunks = cfg.announceAudienceRadiusChunks();
+        tiers.clear();
+        global.clear();
+        byWorld.clear();
+        worldTier.clear();
+        size = 0;
+        localeOf.clear();
+        localeCounts.clear();
+        locales = Set.of();
+        for (Player p : Bukkit.getOnlinePlayers()) add(p);
+    }
+
+    public void add(Player p) {
+        if (p == null || isOptedOut(p)) return;
+        remove(p.getUniqueId());
+        Tier tier = p.hasPermission(PERM_GLOBAL) ? Tier.GLOBAL : p.hasPermission(PERM_WORLD) ? Tier.WORLD : Tier.LOCAL;
+        tiers.put(p.getUniqueId(), tier);
+        if (tier == Tier.GLOBAL) global.put(p.getUniqueId(), p);
+        else byWorld.computeIfAbsent(p.getWorld().getName(), k -> new LinkedHashMap<>()).put(p.getUniqueId(), p);
+        if (tier == Tier.WORLD) worldTier.computeIfAbsent(p.getWorld().getName(), k -> new LinkedHashMap<>()).put(p.getUniqueId(), p);
+        size++;
+        countLocale(p.getUniqueId(), p.getLocale());
+    }
+
+    public void remove(UUID playerId) {
+        Tier tier = tiers.remove(playerId);
+        if (tier == null) return;
+        size--;
+        countLocale(playerId, null);
+        if (tier == Tier.GLOBAL) {
+            global.remove(playerId);
+            return;
+        }
+        removeFromAny(byWorld, playerId);
+        if (tier == Tier.WORLD) removeFromAny(worldTier, playerId);
+    }
+
+    private static void removeFromAny(Map<String, Map<UUID, Player>> index, UUID playerId) {
+        for (var it = index.values().iterator(); it.hasNext(); ) {
+            Map<UUID, Player> members = it.next();
+            if (members.remove(playerId) != null) {
+                if (members.isEmpty()) it.remove();
+                return;
+            }
+        }
+    }
+
+    /** Player moved to another world. */
+    public void moved(Player p, String fromWorld) {
+        Tier tier = tiers.get(p.getUniqueId());
+        if (tier == null || tier == Tier.GLOBAL) return;
+        move(byWorld, p, fromWorld);
+        if (tier == Tier.WORLD) move(worldTier, p, fromWorld);
+    }
+
+    private static void move(Map<String, Map<UUID, Player>> index, Player p, String fromWorld) {
+        Map<UUID, Player> from = index.get(fromWorld);
+        if (from != null) {
+            from.remove(p.getUniqueId());
+            if (from.isEmpty()) index.remove(fromWorld);
+        }
+        index.computeIfAbsent(p.getWorld().getName(), k -> new LinkedHashMap<>()).put(p.getUniqueId(), p);
+    }
+
+    /** The client switched language (also fires shortly after join, once the client sends its settings). */
+    public void localeChanged(Player p, String locale) {
+        if (tiers.containsKey(p.getUniqueId())) countLocale(p.getUniqueId(), locale);
+    }
+
+    /** Client locales of everyone currently in the index; immutable. */
+    public Set<String> locales() {
+        return locales;
+    }
+
+    public boolean isOptedOut(Player p) {
+        PersistentDataContainer pdc = p.getPersistentDataContainer();
+        Byte v = pdc.get(optOutKey, PersistentDataType.BYTE);
+        return v != null && v != 0;
+    }
+
+    /** Flips the player's opt-out flag; @return true if announcements are now on. */
+    public boolean toggle(Player p) {
+        boolean optOut = !isOptedOut(p);
+        if (optOut) {
+            p.getPersistentDataContainer().set(optOutKey, PersistentDataType.BYTE, (byte) 1);
+            remove(p.getUniqueId());
+        } else {
+            p.getPersistentDataContainer().remove(optOutKey);
+            add(p);
+        }
+        return !optOut;
+    }
+
+    /**
+     * @param worldKey Bukkit world name of the spawn(s)
+     * @param blockXz  x0, z0, x1, z1, ... of the spawn(s); a player in RADIUS mode needs to be near one of them
+     */
+    public List<Player> recipients(String worldKey, int[] blockXz) {
+        List<Player> out = new ArrayList<>(mode == Mode.ALL ? size : global.size() + 16);
+        out.addAll(global.values());
+        if (mode == Mode.ALL) {
+            for (Map<UUID, Player> members : byWorld.values()) out.addAll(members.values());
+            return out;
+        }
+
+        Map<UUID, Player> members = byWorld.get(worldKey);
+        if (members == null) return out;
+        if (mode == Mode.WORLD) {
+            out.addAll(members.values());
+            return out;
+        }
+
+        Map<UUID, Player> wide = worldTier.get(worldKey);
+        if (wide != null) out.addAll(wide.values());
+        nearby.clear();
+        for (int i = 0; i + 1 < blockXz.length; i += 2) grid.playersWithin(worldKey, blockXz[i], blockXz[i + 1], radiusChunks, nearby);
+        // A digest's spawns can overlap; only then can a player come back twice.
+        Set<UUID> seen = blockXz.length > 2 ? new HashSet<>() : null;
+        for (Player p : nearby) {
+            // opted-out players are not in tiers; GLOBAL and WORLD members were added above
+            if (tiers.get(p.getUniqueId()) != Tier.LOCAL) continue;
+            if (seen == null || seen.add(p.getUniqueId())) out.add(p);
+        }
+        nearby.clear();
+        return out;
+    }
+
+    /** Whether {@code p} would be a recipient of an announcement for these spawn(s); used for replays. */
+    public boolean accepts(Player p, String worldKey, int[] blockXz) {
+        Tier tier = tiers.get(p.getUniqueId());
+        if (tier == null) return false;
+        if (tier == Tier.GLOBAL || mode == Mode.ALL) return true;
+        if (!p.getWorld().getName().equals(worldKey)) return false;
+        return mode == Mode.WORLD || tier == Tier.WORLD || grid.nearAny(p.getUniqueId(), blockXz, radiusChunks);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Mode mode() {
+        return mode;
+    }
+
+    /** Moves the player's locale count to {@code locale}; null drops it. */
+    private void countLocale(UUID playerId, String locale) {
+        String old = locale == null ? localeOf.remove(playerId) : localeOf.put(playerId, locale);
+        if (old != null && old.equals(locale)) return;
+        boolean changed = false;
+        if (old != null && localeCounts.merge(old, -1, Integer::sum) <= 0) {
+            localeCounts.remove(old);
+            changed = true;
+        }
+        if (locale != null && localeCounts.merge(locale, 1, Integer::sum) == 1) changed = true;
+        if (changed) locales = Set.copyOf(localeCounts.keySet());
+    }
+
+    private static Mode parseMode(String s) {
+        if (s == null) return Mode.ALL;
+        try {
+            return Mode.valueOf(s.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ignored) {
+            return Mode.ALL;
+        }
+    }
+}
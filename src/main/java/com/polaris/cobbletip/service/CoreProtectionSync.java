@@ -0,0 +1,127 @@
+package com.polaris.cobbletip.service;
+
+import com.polaris.cobblecore.CobbleCore;
+import com.polaris.cobblecore.api.CobbleCoreApi;
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Pushes protection marks/clears to CobbleCore.
+ * <p>
+ * The API and its optional owner-aware mark are probed once per enable/reload and kept as a bound
+ * MethodHandle. Operations are coalesced per Pokemon UUID (last one wins) and flushed on the next
+ * tick as a bounded number of single calls per tick, so restoring thousands of records never lands
+ * in one tick.
+ */
+final class CoreProtectionSync {
+    private static final int SINGLE_CALLS_PER_TICK = 256;
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private record Op(long expireAt, UUID owner, boolean clear) {}
+
+    private final Plugin plugin;
+
+    private CobbleCoreApi api;
+    // markProtectedPokemon(UUID,long,UUID); absent on older CobbleCore builds
+    private MethodHandle markWithOwner;
+
+    private final Map<UUID, Op> pending = new LinkedHashMap<>();
+    private boolean flushScheduled;
+
+    CoreProtectionSync(Plugin plugin) {
+        this.plugin = plugin;
+        probe();
+    }
+
+    void probe() {
+        api = null;
+        markWithOwner = null;
+
+        var core = Bukkit.getPluginManager().getPlugin("CobbleCore");
+        if (!(core instanceof CobbleCore cobbleCore)) return;
+        try { api = cobbleCore.api(); } catch (Throwable ignored) {}
+        if (api == null) return;
+
+        markWithOwner = bind("markProtectedPokemon",
+                MethodType.methodType(void.class, UUID.class, long.class, UUID.class), UUID.class, long.class, UUID.class);
+    }
+
+    boolean available() {
+        return api != null;
+    }
+
+    void mark(UUID pokemonUuid, long expireAtMs, UUID ownerUuid) {
+        if (pokemonUuid == null) return;
+        enqueue(pokemonUuid, new Op(expireAtMs, ownerUuid, false));
+    }
+
+    void clear(UUID pokemonUuid) {
+        if (pokemonUuid == null) return;
+        enqueue(pokemonUuid, new Op(0L, null, true));
+    }
+
+    private void enqueue(UUID pokemonUuid, Op op) {
+        if (api == null) return;
+        pending.put(pokemonUuid, op);
+        scheduleFlush();
+    }
+
+    private void scheduleFlush() {
+        if (flushScheduled) return;
+        flushScheduled = true;
+        Bukkit.getScheduler().runTask(plugin, this::flush);
+    }
+
+    private void flush() {
+        flushScheduled = false;
+        if (pending.isEmpty() || api == null) {
+            pending.clear();
+            return;
+        }
+
+        int budget = SINGLE_CALLS_PER_TICK;
+        Iterator<Map.Entry<UUID, Op>> it = pending.entrySet().iterator();
+        while (it.hasNext() && budget-- > 0) {
+            var entry = it.next();
+            Op op = entry.getValue();
+            if (op.clear()) sendClear(entry.getKey());
+            else sendMark(entry.getKey(), op.expireAt(), op.owner());
+            it.remove();
+        }
+
+        if (!pending.isEmpty()) scheduleFlush();
+    }
+
+    private void sendMark(UUID pokemonUuid, long expireAtMs, UUID ownerUuid) {
+        if (markWithOwner != null) {
+            try {
+                markWithOwner.invokeExact(pokemonUuid, expireAtMs, ownerUuid);
+                return;
+            } catch (Throwable ignored) {}
+        }
+        try { api.markProtectedPokemon(pokemonUuid, expireAtMs); } catch (Throwable ignored) {}
+    }
+
+    private void sendClear(UUID pokemonUuid) {
+        try { api.clearProtectedPokemon(pokemonUuid); } catch (Throwable ignored) {}
+    }
+
+    private MethodHandle bind(String name, MethodType type, Class<?>... params) {
+        try {
+            Method m = api.getClass().getMethod(name, params);
+            m.setAccessible(true);
+            return LOOKUP.unreflect(m).bindTo(api).asType(type);
+        } catch (Throwable ignored) {
+            return null;
+        }
+    }
+}
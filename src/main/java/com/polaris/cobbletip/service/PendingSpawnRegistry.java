@@ -0,0 +1,133 @@
+package com.polaris.cobbletip.service;
+
+import com.polaris.cobbletip.util.PokemonEntityHandles;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Matches announced spawns to their Bukkit entity.
+ * <p>
+ * Pending spawns are indexed by Pokemon UUID and (when CobbleCore reports it) Bukkit entity UUID, and
+ * resolved in O(1) as entities are added to the world. A single shared sweep retries direct lookups
+ * for entries that know their entity UUID and, once an entry times out, does one nearby scan as the
+ * last resort. Main thread only.
+ */
+public final class PendingSpawnRegistry {
+    private static final long SWEEP_PERIOD_TICKS = 5L;
+    // 20 sweeps x 5 ticks: the same 5s window the old per-spawn poller gave slow chunk/entity loads
+    private static final int TIMEOUT_SWEEPS = 20;
+    private static final double SCAN_RADIUS = 12.0;
+
+    private static final class Pending {
+        final UUID pokemonUuid;
+        final UUID entityUuid;
+        final Location loc;
+        final Consumer<Entity> onResolved;
+        final Runnable onTimeout;
+        int sweepsLeft = TIMEOUT_SWEEPS;
+
+        Pending(UUID pokemonUuid, UUID entityUuid, Location loc, Consumer<Entity> onResolved, Runnable onTimeout) {
+            this.pokemonUuid = pokemonUuid;
+            this.entityUuid = entityUuid;
+            this.loc = loc;
+            this.onResolved = onResolved;
+            this.onTimeout = onTimeout;
+        }
+    }
+
+    private final Plugin plugin;
+    private final Map<UUID, Pending> byPokemon = new HashMap<>();
+    private final Map<UUID, Pending> byEntity = new HashMap<>();
+    private BukkitTask sweepTask;
+
+    public PendingSpawnRegistry(Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Calls {@code onResolved} with the spawned entity as soon as it is known, or {@code onTimeout}
+     * if it never shows up.
+     */
+    public void await(Location loc, UUID pokemonUuid, UUID bukkitEntityUuid, Consumer<Entity> onResolved, Runnable onTimeout) {
+        if (pokemonUuid == null || loc == null) return;
+
+        Entity now = null;
+        if (bukkitEntityUuid != null) now = Bukkit.getEntity(bukkitEntityUuid);
+        if (now == null) now = Bukkit.getEntity(pokemonUuid);
+        if (now != null) {
+            onResolved.accept(now);
+            return;
+        }
+
+        Pending p = new Pending(pokemonUuid, bukkitEntityUuid, loc, onResolved, onTimeout);
+        Pending previous = byPokemon.put(pokemonUuid, p);
+        if (previous != null && previous.entityUuid != null) byEntity.remove(previous.entityUuid, previous);
+        if (bukkitEntityUuid != null) byEntity.put(bukkitEntityUuid, p);
+        if (sweepTask == null) {
+            sweepTask = Bukkit.getScheduler().runTaskTimer(plugin, this::sweep, SWEEP_PERIOD_TICKS, SWEEP_PERIOD_TICKS);
+        }
+    }
+
+    public int pendingCount() {
+        return byPokemon.size();
+    }
+
+    /** Called for every entity added to a world; returns immediately when nothing is pending. */
+    public void onEntityAdded(Entity e) {
+        if (byPokemon.isEmpty() || e == null) return;
+        UUID id = e.getUniqueId();
+        Pending p = byEntity.get(id);
+        if (p == null) p = byPokemon.get(id);
+        // Vanilla mobs are ruled out by their Bukkit class alone, without touching the NMS handle.
+        if (p == null && PokemonEntityHandles.mayBePokemonEntity(e)) {
+            UUID pokemonUuid = PokemonEntityHandles.pokemonUuid(e);
+            if (pokemonUuid != null) p = byPokemon.get(pokemonUuid);
+        }
+        if (p != null) complete(p, e);
+    }
+
+    private void complete(Pending p, Entity entity) {
+        byPokemon.remove(p.pokemonUuid, p);
+        if (p.entityUuid != null) byEntity.remove(p.entityUuid, p);
+        stopSweepIfIdle();
+        if (entity != null) p.onResolved.accept(entity);
+        else if (p.onTimeout != null) p.onTimeout.run();
+    }
+
+    private void sweep() {
+        List<Pending> snapshot = new ArrayList<>(byPokemon.values());
+        for (Pending p : snapshot) {
+            Entity entity = p.entityUuid == null ? null : Bukkit.getEntity(p.entityUuid);
+            if (entity == null && --p.sweepsLeft <= 0) entity = scanNearby(p);
+            if (entity != null || p.sweepsLeft <= 0) complete(p, entity);
+        }
+        stopSweepIfIdle();
+    }
+
+    private void stopSweepIfIdle() {
+        if (!byPokemon.isEmpty() || sweepTask == null) return;
+        sweepTask.cancel();
+        sweepTask = null;
+    }
+
+    private static Entity scanNearby(Pending p) {
+        World world = p.loc.getWorld();
+        if (world == null) return null;
+        for (Entity e : world.getNearbyEntities(p.loc, SCAN_RADIUS, SCAN_RADIUS, SCAN_RADIUS)) {
+            if (p.pokemonUuid.equals(e.getUniqueId())) return e;
+            if (p.pokemonUuid.equals(PokemonEntityHandles.pokemonUuid(e))) return e;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,245 @@
+package com.polaris.cobbletip.service;
+
+import com.polaris.cobbletip.util.LongObjectMap;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Online players bucketed by world and chunk.
+ * <p>
+ * A player's bucket only changes when they cross a chunk boundary, change world, join or quit
+ * ({@code PlayerGridListener}). Riders get no move events on some mounts (rideable Pokemon in particular),
+ * so players inside a vehicle are re-bucketed once a second and {@link #nearAny} checks the live chunk.
+ * Queries never modify the grid: they expand chunk rings around the target and read live positions into
+ * a scratch {@link Location}, so they do not allocate; when the rings would cost more than the world's
+ * player count, they fall back to a plain scan of that world. Main thread only.
+ */
+public final class PlayerGrid {
+    // r rings cost about 4r^2 bucket lookups; stop expanding once that exceeds this many lookups per player
+    private static final int RING_COST_FACTOR = 8;
+    private static final long RIDER_REFRESH_TICKS = 20L;
+
+    private static final class Tracked {
+        final Player player;
+        WorldGrid grid;
+        long chunk;
+
+        Tracked(Player player) {
+            this.player = player;
+        }
+    }
+
+    private static final class Bucket {
+        Tracked[] items = new Tracked[4];
+        int size;
+
+        void add(Tracked t) {
+            if (size == items.length) items = Arrays.copyOf(items, size * 2);
+            items[size++] = t;
+        }
+
+        void remove(Tracked t) {
+            for (int i = 0; i < size; i++) {
+                if (items[i] != t) continue;
+                items[i] = items[--size];
+                items[size] = null;
+                return;
+            }
+        }
+    }
+
+    private static final class WorldGrid {
+        final LongObjectMap<Bucket> buckets = new LongObjectMap<>();
+        final List<Tracked> all = new ArrayList<>();
+    }
+
+    private final Map<String, WorldGrid> worlds = new HashMap<>();
+    private final Map<UUID, Tracked> players = new HashMap<>();
+    private final Location scratch = new Location(null, 0, 0, 0);
+
+    public PlayerGrid(Plugin plugin) {
+        Bukkit.getScheduler().runTaskTimer(plugin, this::refreshRiders, RIDER_REFRESH_TICKS, RIDER_REFRESH_TICKS);
+    }
+
+    /** Indexes everyone already online (enable / reload). */
+    public void rebuild() {
+        worlds.clear();
+        players.clear();
+        for (Player p : Bukkit.getOnlinePlayers()) update(p);
+    }
+
+    /** Join, teleport, world change, or chunk crossing. */
+    public void update(Player p) {
+        p.getLocation(scratch);
+        World world = scratch.getWorld();
+        if (world == null) return;
+        update(p, world.getName(), scratch.getBlockX() >> 4, scratch.getBlockZ() >> 4);
+    }
+
+    public void update(Player p, String worldName, int chunkX, int chunkZ) {
+        long chunk = chunkKey(chunkX, chunkZ);
+        Tracked t = players.get(p.getUniqueId());
+        WorldGrid grid = worlds.computeIfAbsent(worldName, k -> new WorldGrid());
+        if (t == null) {
+            t = new Tracked(p);
+            players.put(p.getUniqueId(), t);
+        } else if (t.grid == grid && t.chunk == chunk) {
+            return;
+        } else {
+            unlink(t);
+        }
+        t.grid = grid;
+        t.chunk = chunk;
+        grid.all.add(t);
+        Bucket b = grid.buckets.get(chunk);
+        if (b == null) {
+            b = new Bucket();
+            grid.buckets.put(chunk, b);
+        }
+        b.add(t);
+    }
+
+    public void remove(UUID playerId) {
+        Tracked t = players.remove(playerId);
+        if (t != null) unlink(t);
+    }
+
+    public int size() {
+        return players.size();
+    }
+
+    /** @return true if the player's current chunk is within {@code radiusChunks} (square) of any given block x/z */
+    public boolean nearAny(UUID playerId, int[] blockXz, int radiusChunks) {
+        Tracked t = players.get(playerId);
+        if (t == null) return false;
+        // The bucket may lag behind a rider; the live position is one field read away.
+        t.player.getLocation(scratch);
+        int pcx = scratch.getBlockX() >> 4;
+        int pcz = scratch.getBlockZ() >> 4;
+        for (int i = 0; i + 1 < blockXz.length; i += 2) {
+            if (Math.abs((blockXz[i] >> 4) - pcx) <= radiusChunks && Math.abs((blockXz[i + 1] >> 4) - pcz) <= radiusChunks) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adds every player in {@code worldName} whose chunk is within {@code radiusChunks} (square) of block x/z, ring
+     * by ring outwards from the target chunk. When the square would cost more bucket lookups than the world has
+     * players, it scans the world's live positions instead.
+     */
+    public void playersWithin(String worldName, int blockX, int blockZ, int radiusChunks, Collection<? super Player> out) {
+        WorldGrid grid = worlds.get(worldName);
+        if (grid == null || grid.all.isEmpty()) return;
+        int cx = blockX >> 4;
+        int cz = blockZ >> 4;
+
+        long side = 2L * radiusChunks + 1;
+        if (side * side > (long) grid.all.size() * RING_COST_FACTOR) {
+            for (Tracked t : grid.all) {
+                t.player.getLocation(scratch);
+                if (Math.abs((scratch.getBlockX() >> 4) - cx) <= radiusChunks && Math.abs((scratch.getBlockZ() >> 4) - cz) <= radiusChunks) {
+                    out.add(t.player);
+                }
+            }
+            return;
+        }
+
+        for (int r = 0; r <= radiusChunks; r++) {
+            for (int dx = -r; dx <= r; dx++) {
+                boolean edgeX = dx == -r || dx == r;
+                for (int dz = -r; dz <= r; dz += edgeX ? 1 : 2 * r) {
+                    Bucket b = grid.buckets.get(chunkKey(cx + dx, cz + dz));
+                    if (b == null) continue;
+                    for (int i = 0; i < b.size; i++) out.add(b.items[i].player);
+                }
+            }
+        }
+    }
+
+    /** Nearest player in {@code world} by 3D distance, or null if the world is empty. */
+    public Player nearest(World world, double x, double y, double z) {
+        if (world == null) return null;
+        WorldGrid grid = worlds.get(world.getName());
+        if (grid == null || grid.all.isEmpty()) return null;
+
+        int total = grid.all.size();
+        int maxRings = Math.max(2, (int) Math.sqrt(total * RING_COST_FACTOR / 4.0));
+        int cx = (int) Math.floor(x) >> 4;
+        int cz = (int) Math.floor(z) >> 4;
+
+        Player best = null;
+        double bestD = Double.MAX_VALUE;
+        int seen = 0;
+        for (int r = 0; r <= maxRings; r++) {
+            for (int dx = -r; dx <= r; dx++) {
+                boolean edgeX = dx == -r || dx == r;
+                for (int dz = -r; dz <= r; dz += edgeX ? 1 : 2 * r) {
+                    Bucket b = grid.buckets.get(chunkKey(cx + dx, cz + dz));
+                    if (b == null) continue;
+                    for (int i = 0; i < b.size; i++) {
+                        seen++;
+                        double d = distanceSquared(b.items[i].player, x, y, z);
+                        if (d < bestD) {
+                            bestD = d;
+                            best = b.items[i].player;
+                        }
+                    }
+                }
+            }
+            if (seen == total) return best;
+            // Everything outside ring r is at least r * 16 blocks away horizontally.
+            double bound = r * 16.0;
+            if (best != null && bestD <= bound * bound) return best;
+        }
+
+        for (Tracked t : grid.all) {
+            double d = distanceSquared(t.player, x, y, z);
+            if (d < bestD) {
+                bestD = d;
+                best = t.player;
+            }
+        }
+        return best;
+    }
+
+    private void refreshRiders() {
+        for (Tracked t : players.values()) {
+            if (t.player.isInsideVehicle()) update(t.player);
+        }
+    }
+
+    private double distanceSquared(Player p, double x, double y, double z) {
+        p.getLocation(scratch);
+        double dx = scratch.getX() - x, dy = scratch.getY() - y, dz = scratch.getZ() - z;
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    private void unlink(Tracked t) {
+        WorldGrid grid = t.grid;
+        if (grid == null) return;
+        grid.all.remove(t);
+        Bucket b = grid.buckets.get(t.chunk);
+        if (b != null) {
+            b.remove(t);
+            if (b.size == 0) grid.buckets.remove(t.chunk);
+        }
+        t.grid = null;
+    }
+
+    private static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,94 @@
+package com.polaris.cobbletip.service;
+
+import com.polaris.cobbletip.util.UuidLongMap;
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Shared home for per-player timestamps (message cooldown, teleport cooldown, ...).
+ * <p>
+ * Each service asks for a named {@link Slot}. Entries are evicted when the player quits, when they
+ * are older than the slot's TTL (a periodic sweep), and, if a slot still exceeds its size cap after
+ * dropping stale entries, the slot is cleared. A lost cooldown entry only means a player may act or
+ * get a message slightly early.
+ */
+public final class PlayerStateStore {
+    private static final long SWEEP_PERIOD_TICKS = 20L * 30L;
+
+    public static final class Slot {
+        private final String name;
+        private final int maxEntries;
+        private final UuidLongMap values = new UuidLongMap();
+        private volatile long ttlMs;
+
+        private Slot(String name, long ttlMs, int maxEntries) {
+            this.name = name;
+            this.ttlMs = ttlMs;
+            this.maxEntries = maxEntries;
+        }
+
+        public long getOrDefault(UUID playerId, long def) {
+            return values.getOrDefault(playerId, def);
+        }
+
+        public void put(UUID playerId, long timestampMs) {
+            if (values.put(playerId, timestampMs) == UuidLongMap.NONE && values.size() > maxEntries) {
+                trim(System.currentTimeMillis());
+            }
+        }
+
+        /** Entries older than this are dropped by the sweep. */
+        public void ttlMs(long ttlMs) {
+            this.ttlMs = ttlMs;
+        }
+
+        public int size() {
+            return values.size();
+        }
+
+        public String name() {
+            return name;
+        }
+
+        private void trim(long now) {
+            long cutoff = now - ttlMs;
+            values.removeIf(v -> v < cutoff);
+            if (values.size() > maxEntries) values.clear();
+        }
+    }
+
+    private final List<Slot> slots = new CopyOnWriteArrayList<>();
+
+    public PlayerStateStore(Plugin plugin) {
+        Bukkit.getScheduler().runTaskTimer(plugin, this::sweep, SWEEP_PERIOD_TICKS, SWEEP_PERIOD_TICKS);
+    }
+
+    public Slot slot(String name, long ttlMs, int maxEntries) {
+        Slot s = new Slot(name, ttlMs, maxEntries);
+        slots.add(s);
+        return s;
+    }
+
+    public void evict(UUID playerId) {
+        if (playerId == null) return;
+        for (Slot s : slots) s.values.remove(playerId);
+    }
+
+    /** Slot name -> current entry count, for /cobbletip stats. */
+    public Map<String, Integer> sizes() {
+        Map<String, Integer> out = new LinkedHashMap<>();
+        for (Slot s : slots) out.put(s.name, s.size());
+        return out;
+    }
+
+    private void sweep() {
+        long now = System.currentTimeMillis();
+        for (Slot s : slots) s.trim(now);
+    }
+}
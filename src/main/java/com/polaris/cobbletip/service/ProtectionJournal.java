@@ -0,0 +1,370 @@
+package com.polaris.cobbletip.service;
+
+import org.bukkit.Bukkit;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.plugin.Plugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+/**
+ * Write-behind persistence for the Pokemon UUID -> (expireAt, owner) protection table.
+ * <p>
+ * Mutations are collected on the main thread and handed to a single writer thread once per tick,
+ * which appends them to {@code protection.journal} as fixed-size binary records and forces the batch
+ * to disk. The writer keeps the live table in memory and periodically rewrites the journal without
+ * expired or superseded records. The main thread never touches the file.
+ */
+final class ProtectionJournal {
+    record Entry(long expireAt, UUID owner) {}
+
+    private record Mutation(UUID pokemonUuid, long expireAt, UUID owner, boolean remove) {}
+
+    private static final int MAGIC = 0x43544A31; // "CTJ1"
+    private static final int HEADER_BYTES = 4;
+    // op(1) + pokemon(16) + expireAt(8) + owner(16)
+    private static final int RECORD_BYTES = 41;
+    private static final byte OP_UPSERT = 1;
+    private static final byte OP_REMOVE = 2;
+    private static final long COMPACT_PERIOD_MINUTES = 10L;
+    private static final long DROP_LOG_INTERVAL_MS = 60_000L;
+
+    private final Plugin plugin;
+    private final File file;
+    private final File legacyYaml;
+    private final ScheduledExecutorService writer;
+    private final CompletableFuture<Map<UUID, Entry>> loaded;
+
+    // main thread
+    private final Object pendingLock = new Object();
+    private List<Mutation> pending = new ArrayList<>();
+    private boolean flushScheduled;
+
+    // writer thread only
+    private final Map<UUID, Entry> live = new HashMap<>();
+    private FileChannel channel;
+    private long appendedRecords;
+    // set when an unreadable journal could not be moved aside; writing would overwrite it
+    private boolean readOnly;
+    private long droppedRecords;
+    private long lastDropLog;
+
+    ProtectionJournal(Plugin plugin, File file, File legacyYaml) {
+        this.plugin = plugin;
+        this.file = file;
+        this.legacyYaml = legacyYaml;
+        this.writer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "CobbleTip-Journal");
+            t.setDaemon(true);
+            return t;
+        });
+        this.loaded = CompletableFuture.supplyAsync(this::openOnWriter, writer);
+        writer.scheduleWithFixedDelay(this::compactQuietly, COMPACT_PERIOD_MINUTES, COMPACT_PERIOD_MINUTES, TimeUnit.MINUTES);
+    }
+
+    /** Completes on the writer thread with the unexpired records found at startup. */
+    CompletableFuture<Map<UUID, Entry>> loaded() {
+        return loaded;
+    }
+
+    void upsert(UUID pokemonUuid, long expireAtMs, UUID owner) {
+        if (pokemonUuid == null) return;
+        enqueue(new Mutation(pokemonUuid, expireAtMs, owner, false));
+    }
+
+    void remove(UUID pokemonUuid) {
+        if (pokemonUuid == null) return;
+        enqueue(new Mutation(pokemonUuid, 0L, null, true));
+    }
+
+    private void enqueue(Mutation m) {
+        synchronized (pendingLock) {
+            pending.add(m);
+            if (flushScheduled) return;
+            flushScheduled = true;
+        }
+        Bukkit.getScheduler().runTask(plugin, this::flush);
+    }
+
+    private void flush() {
+        List<Mutation> batch;
+        synchronized (pendingLock) {
+            flushScheduled = false;
+            if (pending.isEmpty()) return;
+            batch = pending;
+            pending = new ArrayList<>();
+        }
+        if (writer.isShutdown()) return;
+        writer.execute(() -> writeBatch(batch));
+    }
+
+    /** Flushes whatever is pending and stops the writer. Called from onDisable. */
+    void close() {
+        List<Mutation> batch;
+        synchronized (pendingLock) {
+            batch = pending;
+            pending = new ArrayList<>();
+            flushScheduled = false;
+        }
+        if (!batch.isEmpty()) writer.execute(() -> writeBatch(batch));
+        writer.execute(this::closeChannel);
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(5, TimeUnit.SECONDS)) {
+                plugin.getLogger().warning("[CobbleTip] Protection journal writer did not finish in time.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ---- writer thread ----
+
+    private Map<UUID, Entry> openOnWriter() {
+        try {
+            File dir = file.getParentFile();
+            if (dir != null && !dir.exists()) {
+                //noinspection ResultOfMethodCallIgnored
+                dir.mkdirs();
+            }
+            if (file.exists() && !replayOrSetAside()) {
+                readOnly = true;
+                return Collections.unmodifiableMap(new HashMap<>(live));
+            }
+            if (!file.exists() && legacyYaml.exists()) {
+                importLegacyYaml();
+            }
+            live.values().removeIf(e -> e.expireAt() < System.currentTimeMillis());
+            compact();
+        } catch (Throwable t) {
+            plugin.getLogger().log(Level.WARNING, "[CobbleTip] Failed to open protection journal: " + t, t);
+        }
+        return Collections.unmodifiableMap(new HashMap<>(live));
+    }
+
+    /**
+     * Replays the journal. If it cannot be read, it is moved to {@code protection.journal.bad} so the
+     * compaction that follows does not overwrite it.
+     *
+     * @return false if the file could neither be read nor moved aside
+     */
+    private boolean replayOrSetAside() {
+        String problem;
+        try {
+            if (replay()) return true;
+            problem = "has an unknown header";
+        } catch (IOException e) {
+            problem = "could not be read (" + e + ")";
+        }
+        File bad = new File(file.getParentFile(), file.getName() + ".bad");
+        try {
+            Files.move(file.toPath(), bad.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            plugin.getLogger().warning("[CobbleTip] protection.journal " + problem + "; moved it to " + bad.getName() + " and starting a new one.");
+            return true;
+        } catch (IOException e) {
+            plugin.getLogger().warning("[CobbleTip] protection.journal " + problem + " and could not be moved aside (" + e
+                    + "); protection records will not be saved until it is fixed.");
+            return false;
+        }
+    }
+
+    /** @return false if the file does not start with the journal header */
+    private boolean replay() throws IOException {
+        try (FileChannel in = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = in.size();
+            if (size < HEADER_BYTES) return true;
+            ByteBuffer buf = ByteBuffer.allocate((int) Math.min(size, Integer.MAX_VALUE));
+            while (buf.hasRemaining() && in.read(buf) >= 0) {}
+            buf.flip();
+            if (buf.getInt() != MAGIC) return false;
+            // A torn record at the tail (crash mid-write) is dropped.
+            while (buf.remaining() >= RECORD_BYTES) {
+                byte op = buf.get();
+                UUID pid = new UUID(buf.getLong(), buf.getLong());
+                long expireAt = buf.getLong();
+                long oMsb = buf.getLong();
+                long oLsb = buf.getLong();
+                if (op == OP_REMOVE) {
+                    live.remove(pid);
+                } else if (op == OP_UPSERT) {
+                    live.put(pid, new Entry(expireAt, (oMsb | oLsb) == 0L ? null : new UUID(oMsb, oLsb)));
+                }
+            }
+        }
+        return true;
+    }
+
+    private void importLegacyYaml() {
+        YamlConfiguration yml = YamlConfiguration.loadConfiguration(legacyYaml);
+        ConfigurationSection section = yml.getConfigurationSection("records");
+        if (section != null) {
+            for (String key : section.getKeys(false)) {
+                UUID pid;
+                try { pid = UUID.fromString(key); } catch (Exception ignored) { continue; }
+                long expireAt = section.getLong(key + ".expireAtMs", 0L);
+                if (expireAt <= 0L) continue;
+                UUID owner = null;
+                String ownerStr = section.getString(key + ".owner", null);
+                if (ownerStr != null && !ownerStr.isBlank()) {
+                    try { owner = UUID.fromString(ownerStr); } catch (Exception ignored) {}
+                }
+                live.put(pid, new Entry(expireAt, owner));
+            }
+        }
+        File migrated = new File(legacyYaml.getParentFile(), legacyYaml.getName() + ".migrated");
+        if (!legacyYaml.renameTo(migrated)) {
+            plugin.getLogger().warning("[CobbleTip] Could not rename " + legacyYaml.getName() + " after migration.");
+        }
+    }
+
+    private void writeBatch(List<Mutation> batch) {
+        ByteBuffer buf = ByteBuffer.allocate(batch.size() * RECORD_BYTES);
+        for (Mutation m : batch) {
+            if (m.remove()) {
+                live.remove(m.pokemonUuid());
+            } else {
+                live.put(m.pokemonUuid(), new Entry(m.expireAt(), m.owner()));
+            }
+            putRecord(buf, m.remove() ? OP_REMOVE : OP_UPSERT, m.pokemonUuid(), m.expireAt(), m.owner());
+        }
+        buf.flip();
+
+        if (readOnly) {
+            dropped(batch.size(), "journal file is unreadable");
+            return;
+        }
+        // The last open or compaction failed: a compaction from the live table persists this batch too.
+        if (channel == null) {
+            if (!compactQuietly()) dropped(batch.size(), "journal is not open");
+            return;
+        }
+
+        long goodSize = -1L;
+        try {
+            goodSize = channel.size();
+            while (buf.hasRemaining()) channel.write(buf);
+            channel.force(false);
+            appendedRecords += batch.size();
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.WARNING, "[CobbleTip] Failed to append protection journal: " + e, e);
+            // Cut off any partial record so later appends stay aligned, then rewrite from the live table.
+            try {
+                if (goodSize >= 0L) channel.truncate(goodSize);
+            } catch (IOException ignored) {}
+            if (!compactQuietly()) dropped(batch.size(), "append and compaction failed");
+            return;
+        }
+        if (appendedRecords > 1024 && appendedRecords > live.size() * 4L) compactQuietly();
+    }
+
+    private void dropped(int records, String reason) {
+        droppedRecords += records;
+        long now = System.currentTimeMillis();
+        if (now - lastDropLog < DROP_LOG_INTERVAL_MS) return;
+        lastDropLog = now;
+        plugin.getLogger().warning("[CobbleTip] Protection journal not written (" + reason + "); " + droppedRecords
+                + " change(s) so far exist only in memory.");
+    }
+
+    private boolean compactQuietly() {
+        if (readOnly) return false;
+        try {
+            live.values().removeIf(e -> e.expireAt() < System.currentTimeMillis());
+            compact();
+            return true;
+        } catch (Throwable t) {
+            plugin.getLogger().log(Level.WARNING, "[CobbleTip] Failed to compact protection journal: " + t, t);
+            return false;
+        }
+    }
+
+    /**
+     * Rewrites the journal as one upsert per live record and reopens it for appending. The current file
+     * stays open until the rewrite is on disk; if the swap fails, whichever file is in place is reopened.
+     */
+    private void compact() throws IOException {
+        File tmp = new File(file.getParentFile(), file.getName() + ".tmp");
+        ByteBuffer buf = ByteBuffer.allocate(HEADER_BYTES + live.size() * RECORD_BYTES);
+        buf.putInt(MAGIC);
+        live.forEach((pid, e) -> putRecord(buf, OP_UPSERT, pid, e.expireAt(), e.owner()));
+        buf.flip();
+        try (FileChannel out = FileChannel.open(tmp.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (buf.hasRemaining()) out.write(buf);
+            out.force(true);
+        }
+
+        // Some platforms cannot replace a file that is still open.
+        closeChannel();
+        boolean swapped = false;
+        try {
+            try {
+                Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+            swapped = true;
+        } finally {
+            channel = openForAppend();
+            if (swapped) appendedRecords = 0L;
+        }
+    }
+
+    /**
+     * Opens the journal for appending. If the file is missing or empty (a failed swap can leave nothing in
+     * place), it is started with the header so the next replay accepts it; the live table still holds
+     * everything, and the next compaction writes it back.
+     */
+    private FileChannel openForAppend() throws IOException {
+        FileChannel ch = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        try {
+            if (ch.size() == 0L) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).putInt(MAGIC);
+                header.flip();
+                while (header.hasRemaining()) ch.write(header);
+                ch.force(false);
+            }
+        } catch (IOException e) {
+            try { ch.close(); } catch (IOException ignored) {}
+            throw e;
+        }
+        return ch;
+    }
+
+    private void closeChannel() {
+        if (channel == null) return;
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+        } finally {
+            channel = null;
+        }
+    }
+
+    private static void putRecord(ByteBuffer buf, byte op, UUID pid, long expireAt, UUID owner) {
+        buf.put(op);
+        buf.putLong(pid.getMostSignificantBits());
+        buf.putLong(pid.getLeastSignificantBits());
+        buf.putLong(expireAt);
+        buf.putLong(owner == null ? 0L : owner.getMostSignificantBits());
+        buf.putLong(owner == null ? 0L : owner.getLeastSignificantBits());
+    }
+}
@@ -1,92 +1,121 @@
 package com.polaris.cobbletip.service;
 
-import com.polaris.cobblecore.CobbleCore;
-import com.polaris.cobblecore.api.CobbleCoreApi;
+import com.polaris.cobbletip.util.PokemonEntityHandles;
 import com.polaris.cobbletip.util.TipConfig;
+import com.polaris.cobbletip.util.UuidLongMap;
+import com.polaris.cobbletip.util.UuidSet;
 import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
 import org.bukkit.NamespacedKey;
-import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.World;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
 import org.bukkit.persistence.PersistentDataType;
 import org.bukkit.plugin.Plugin;
 
 import java.io.File;
-import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 public final class ProtectionService {
+    private static final int RESYNC_CHUNKS_PER_TICK = 16;
+    private static final int MAX_COOLDOWN_ENTRIES = 4096;
+
     private final Plugin plugin;
-    private TipConfig cfg;
+    private volatile TipConfig cfg;
 
     private final NamespacedKey kTracked;
     private final NamespacedKey kOwner;
     private final NamespacedKey kExpire;
     private final NamespacedKey kPokemonUuid;
 
-    private CobbleCoreApi coreApi;
-    private final Map<UUID, Long> msgCooldown = new ConcurrentHashMap<>();
-    private final Map<UUID, Long> tracked = new ConcurrentHashMap<>();
+    private final CoreProtectionSync coreSync;
+    private final PlayerStateStore.Slot msgCooldown;
+    private final UuidLongMap tracked = new UuidLongMap(256);
     private final Map<UUID, UUID> entityToPokemon = new ConcurrentHashMap<>();
-    private final Map<UUID, Long> protectedPokemon = new ConcurrentHashMap<>();
+    private final UuidLongMap protectedPokemon = new UuidLongMap(256);
+    private final Map<UUID, UUID> pokemonToEntity = new ConcurrentHashMap<>();
+
+    // Membership pre-filter mirroring tracked's keys; lets the damage path reject untracked entities
+    // without a map lookup, a Bukkit entity lookup or a PDC read.
+    private final UuidSet trackedIds = new UuidSet(256);
+    private final LongAdder shortCircuited = new LongAdder();
+    // True until the enable-time sweep has visited every chunk that was already loaded; until then an
+    // entity missing from trackedIds may simply not have been swept yet, so misses fall back to its PDC.
+    private boolean sweeping;
+
+    // Min-heap of pending expiries, drained by one tick task. Entries are never removed eagerly:
+    // a popped entry whose expireAt no longer matches the live map value is simply stale.
+    private final PriorityQueue<Expiry> expiryQueue = new PriorityQueue<>(Comparator.comparingLong(Expiry::expireAt));
+
+    private record Expiry(long expireAt, UUID id, boolean pokemon) {}
 
     // Persist protection by Pokemon UUID so CobbleCore can keep blocking battles after restart even if entity isn't loaded.
-    private final File persistentFile;
-    private final Object fileLock = new Object();
-    private volatile boolean saveQueued = false;
-    private volatile YamlConfiguration persistentYaml = null;
+    private final ProtectionJournal journal;
 
-    public ProtectionService(Plugin plugin, TipConfig cfg) {
+    public ProtectionService(Plugin plugin, TipConfig cfg, PlayerStateStore playerState) {
         this.plugin = plugin;
         this.cfg = cfg;
+        this.msgCooldown = playerState.slot("protectMsgCooldown", cfg.protectMsgCooldownMs(), MAX_COOLDOWN_ENTRIES);
         this.kTracked = new NamespacedKey(plugin, "tracked");
         this.kOwner = new NamespacedKey(plugin, "owner");
         this.kExpire = new NamespacedKey(plugin, "expire");
         this.kPokemonUuid = new NamespacedKey(plugin, "pokemon_uuid");
-        this.persistentFile = new File(plugin.getDataFolder(), "protection-cache.yml");
+        this.journal = new ProtectionJournal(plugin,
+                new File(plugin.getDataFolder(), "protection.journal"),
+                new File(plugin.getDataFolder(), "protection-cache.yml"));
+        this.coreSync = new CoreProtectionSync(plugin);
+        Bukkit.getScheduler().runTaskTimer(plugin, this::drainExpired, 20L, 20L);
     }
 
     public void reload(TipConfig cfg) {
         this.cfg = cfg;
-    }
-
-    private CobbleCoreApi resolveCoreApi() {
-        if (coreApi != null) return coreApi;
-        var core = Bukkit.getPluginManager().getPlugin("CobbleCore");
-        if (core instanceof CobbleCore cobbleCore) {
-            coreApi = cobbleCore.api();
-        }
-        return coreApi;
+        msgCooldown.ttlMs(cfg.protectMsgCooldownMs());
+        coreSync.probe();
     }
 
     private void clearCoreProtection(UUID pokemonUuid) {
-        CobbleCoreApi api = resolveCoreApi();
-        if (api == null || pokemonUuid == null) return;
-        try { api.clearProtectedPokemon(pokemonUuid); } catch (Throwable ignored) {}
+        coreSync.clear(pokemonUuid);
     }
 
     private void syncCoreProtection(UUID pokemonUuid, long expireAtMs, UUID ownerUuid) {
-        CobbleCoreApi api = resolveCoreApi();
-        if (api == null || pokemonUuid == null) return;
-
-        // Prefer new API: markProtectedPokemon(UUID,long,UUID)
-        try {
-            Method m = api.getClass().getMethod("markProtectedPokemon", UUID.class, long.class, UUID.class);
-            m.setAccessible(true);
-            m.invoke(api, pokemonUuid, expireAtMs, ownerUuid);
-            return;
-        } catch (Throwable ignored) {}
+        coreSync.mark(pokemonUuid, expireAtMs, ownerUuid);
+    }
 
-        // Fallback to old API: markProtectedPokemon(UUID,long)
-        try { api.markProtectedPokemon(pokemonUuid, expireAtMs); } catch (Throwable ignored) {}
+    private void putTracked(UUID entityUuid, long expireAt) {
+        long prev = tracked.put(entityUuid, expireAt);
+        if (prev == UuidLongMap.NONE) trackedIds.add(entityUuid);
+        if (prev != expireAt) scheduleExpiry(entityUuid, expireAt, false);
+    }
+
+    private void putProtected(UUID pokemonUuid, long expireAt) {
+        long prev = protectedPokemon.put(pokemonUuid, expireAt);
+        if (prev != expireAt) scheduleExpiry(pokemonUuid, expireAt, true);
+    }
+
+    private void linkPokemon(UUID entityUuid, UUID pokemonUuid) {
+        entityToPokemon.put(entityUuid, pokemonUuid);
+        pokemonToEntity.put(pokemonUuid, entityUuid);
+    }
+
+    private void scheduleExpiry(UUID id, long expireAt, boolean pokemon) {
+        synchronized (expiryQueue) {
+            expiryQueue.add(new Expiry(expireAt, id, pokemon));
+        }
     }
 
     private void removeTracking(UUID entityUuid, Entity entity) {
         tracked.remove(entityUuid);
+        trackedIds.remove(entityUuid);
         UUID pokemonUuid = entityToPokemon.remove(entityUuid);
         if (pokemonUuid != null) {
+            pokemonToEntity.remove(pokemonUuid, entityUuid);
             protectedPokemon.remove(pokemonUuid);
             clearCoreProtection(pokemonUuid);
             removePersistentProtection(pokemonUuid);
@@ -102,14 +131,13 @@ public final class ProtectionService {
     public void trackAndProtect(UUID entityUuid, UUID ownerUuid, long durationSeconds, UUID pokemonUuid) {
         if (entityUuid == null && pokemonUuid == null) return;
         long now = System.currentTimeMillis();
-        cleanupExpired(now);
         long expireAt = now + durationSeconds * 1000L;
         if (entityUuid != null) {
-            tracked.put(entityUuid, expireAt);
-            if (pokemonUuid != null) entityToPokemon.put(entityUuid, pokemonUuid);
+            putTracked(entityUuid, expireAt);
+            if (pokemonUuid != null) linkPokemon(entityUuid, pokemonUuid);
         }
         if (pokemonUuid != null) {
-            protectedPokemon.put(pokemonUuid, expireAt);
+            putProtected(pokemonUuid, expireAt);
         }
 
         if (pokemonUuid != null) {
@@ -131,35 +159,42 @@ public final class ProtectionService {
         if (pokemonUuid != null) pdc.set(kPokemonUuid, PersistentDataType.STRING, pokemonUuid.toString());
     }
 
+    /**
+     * Fast membership check used for every damage event on the server. Only entities restored into
+     * memory (tracked at spawn, or rebuilt from their PDC marks) can match; while the enable-time sweep
+     * is still running, a miss is checked against the entity's PDC marks instead.
+     */
     public boolean isTracked(UUID entityUuid) {
         if (entityUuid == null) return false;
-        cleanupExpired(System.currentTimeMillis());
-        long now = System.currentTimeMillis();
-
-        Long cachedExpire = tracked.get(entityUuid);
-        if (cachedExpire != null) {
-            if (cachedExpire < now) {
-                Entity e = Bukkit.getEntity(entityUuid);
-                removeTracking(entityUuid, e);
+        if (!trackedIds.contains(entityUuid)) {
+            if (!sweeping) {
+                shortCircuited.increment();
                 return false;
             }
-            return true;
+            onEntityLoaded(Bukkit.getEntity(entityUuid));
+            if (!trackedIds.contains(entityUuid)) return false;
         }
 
-        Entity e = Bukkit.getEntity(entityUuid);
-        if (e == null) return false;
-        var pdc = e.getPersistentDataContainer();
-        Byte t = pdc.get(kTracked, PersistentDataType.BYTE);
-        if (t == null || t != (byte) 1) return false;
-
-        Long expire = pdc.get(kExpire, PersistentDataType.LONG);
-        if (expire != null && expire < now) {
-            removeTracking(entityUuid, e);
+        long cachedExpire = tracked.get(entityUuid);
+        if (cachedExpire == UuidLongMap.NONE) return false;
+        if (cachedExpire < System.currentTimeMillis()) {
+            removeTracking(entityUuid, Bukkit.getEntity(entityUuid));
             return false;
         }
-        if (expire != null) tracked.put(entityUuid, expire);
         return true;
     }
+
+    public long shortCircuitedLookups() {
+        return shortCircuited.sum();
+    }
+
+    public int trackedEntityCount() {
+        return tracked.size();
+    }
+
+    public int protectedPokemonCount() {
+        return protectedPokemon.size();
+    }
 
     public record DenyResult(boolean denied) {}
 
@@ -167,7 +202,6 @@ public final class ProtectionService {
         if (entity == null) return new DenyResult(false);
         if (!cfg.protectEnabled()) return new DenyResult(false);
         if (actor.hasPermission("cobbletip.protect.bypass") || actor.hasPermission("cobbletip.admin")) return new DenyResult(false);
-        cleanupExpired(System.currentTimeMillis());
 
         UUID entityId = entity.getUniqueId();
         var pdc = entity.getPersistentDataContainer();
@@ -179,7 +213,7 @@ public final class ProtectionService {
             removeTracking(entityId, entity);
             return new DenyResult(false);
         } else if (expire != null) {
-            tracked.put(entityId, expire);
+            putTracked(entityId, expire);
         }
 
         String ownerStr = pdc.get(kOwner, PersistentDataType.STRING);
@@ -210,25 +244,36 @@ public final class ProtectionService {
         removeTracking(entity.getUniqueId(), entity);
     }
 
-    private void cleanupExpired(long now) {
-        var expiredEntities = new java.util.ArrayList<UUID>();
-        tracked.forEach((id, expire) -> {
-            if (expire != null && expire < now) expiredEntities.add(id);
-        });
-        for (UUID id : expiredEntities) {
-            removeTracking(id, Bukkit.getEntity(id));
+    /**
+     * Pops every due entry off the expiry heap. Runs once per second on the main thread,
+     * so the cost is proportional to what actually expired rather than to what is tracked.
+     */
+    private void drainExpired() {
+        long now = System.currentTimeMillis();
+        while (true) {
+            Expiry next;
+            synchronized (expiryQueue) {
+                next = expiryQueue.peek();
+                if (next == null || next.expireAt() >= now) return;
+                expiryQueue.poll();
+            }
+            if (next.pokemon()) expirePokemon(next.id(), next.expireAt());
+            else expireEntity(next.id(), next.expireAt());
         }
+    }
 
-        var expiredPokemon = new java.util.ArrayList<UUID>();
-        protectedPokemon.forEach((id, expire) -> {
-            if (expire != null && expire < now) expiredPokemon.add(id);
-        });
-        for (UUID pid : expiredPokemon) {
-            protectedPokemon.remove(pid);
-            clearCoreProtection(pid);
-            removePersistentProtection(pid);
-            entityToPokemon.entrySet().removeIf(e -> pid.equals(e.getValue()));
-        }
+    private void expireEntity(UUID entityUuid, long expireAt) {
+        if (tracked.get(entityUuid) != expireAt) return;
+        removeTracking(entityUuid, Bukkit.getEntity(entityUuid));
+    }
+
+    private void expirePokemon(UUID pokemonUuid, long expireAt) {
+        if (protectedPokemon.get(pokemonUuid) != expireAt) return;
+        protectedPokemon.remove(pokemonUuid);
+        clearCoreProtection(pokemonUuid);
+        removePersistentProtection(pokemonUuid);
+        UUID entityUuid = pokemonToEntity.remove(pokemonUuid);
+        if (entityUuid != null) entityToPokemon.remove(entityUuid, pokemonUuid);
     }
 
     private void clearMarks(Entity entity) {
@@ -241,8 +286,9 @@ public final class ProtectionService {
     }
 
     /**
-     * After server restart or plugin reload, rebuild in-memory caches and re-sync CobbleCore protection table
-     * from persistent entity marks.
+     * After server restart or plugin reload, re-sync the CobbleCore protection table from the journal and
+     * rebuild in-memory entity state. Entities in chunks loaded later are picked up by {@link #onEntityLoaded};
+     * the ones already loaded at enable are swept a few chunks per tick so enabling stays constant-time.
      */
     public void resyncLoadedEntities() {
         if (!cfg.protectEnabled()) return;
@@ -250,168 +296,116 @@ public final class ProtectionService {
         // 1) Restore persisted protection table (Pokemon UUID -> expire/owner) so Core can block battles even if entity isn't loaded.
         resyncPersistentProtectionToCore();
 
-        long now = System.currentTimeMillis();
-
-        for (var world : Bukkit.getWorlds()) {
-            try {
-                for (Entity e : world.getEntities()) {
-                    if (e == null) continue;
-                    var pdc = e.getPersistentDataContainer();
-                    Byte t = pdc.get(kTracked, PersistentDataType.BYTE);
-                    if (t == null || t != (byte) 1) continue;
-
-                    Long expire = pdc.get(kExpire, PersistentDataType.LONG);
-                    if (expire == null || expire < now) {
-                        removeTracking(e.getUniqueId(), e);
-                        continue;
+        // 2) Sweep chunks that were already loaded before our EntitiesLoadEvent listener existed.
+        ArrayDeque<World> worlds = new ArrayDeque<>(Bukkit.getWorlds());
+        ArrayDeque<Chunk> chunks = new ArrayDeque<>();
+        sweeping = true;
+        Bukkit.getScheduler().runTaskTimer(plugin, task -> {
+            int budget = RESYNC_CHUNKS_PER_TICK;
+            while (budget > 0) {
+                Chunk chunk = chunks.poll();
+                if (chunk == null) {
+                    World w = worlds.poll();
+                    if (w == null) {
+                        sweeping = false;
+                        task.cancel();
+                        return;
                     }
-
-                    UUID owner = null;
-                    String ownerStr = pdc.get(kOwner, PersistentDataType.STRING);
-                    if (ownerStr != null) {
-                        try { owner = UUID.fromString(ownerStr); } catch (Exception ignored) {}
-                    }
-
-                    UUID pokemonUuid = null;
-                    String pidStr = pdc.get(kPokemonUuid, PersistentDataType.STRING);
-                    if (pidStr != null) {
-                        try { pokemonUuid = UUID.fromString(pidStr); } catch (Exception ignored) {}
-                    }
-                    if (pokemonUuid == null) pokemonUuid = tryReadPokemonUuidFromEntity(e);
-
-                    tracked.put(e.getUniqueId(), expire);
-                    if (pokemonUuid != null) {
-                        entityToPokemon.put(e.getUniqueId(), pokemonUuid);
-                        protectedPokemon.put(pokemonUuid, expire);
-                        syncCoreProtection(pokemonUuid, expire, owner);
-                    }
-
-                    setUnbattleable(e, owner == null);
+                    // One world per tick: getLoadedChunks() copies the whole chunk list.
+                    chunks.addAll(Arrays.asList(w.getLoadedChunks()));
+                    return;
                 }
-            } catch (Throwable ignored) {}
-        }
+                if (!chunk.isLoaded()) continue;
+                budget--;
+                try {
+                    for (Entity e : chunk.getEntities()) {
+                        if (e == null || trackedIds.contains(e.getUniqueId())) continue;
+                        onEntityLoaded(e);
+                    }
+                } catch (Throwable ignored) {}
+            }
+        }, 1L, 1L);
     }
 
-    private void resyncPersistentProtectionToCore() {
-        long now = System.currentTimeMillis();
-        var cfg = yaml();
-        if (cfg == null) return;
-
-        var section = cfg.getConfigurationSection("records");
-        if (section == null) return;
-
-        for (String key : section.getKeys(false)) {
-            UUID pid;
-            try { pid = UUID.fromString(key); } catch (Exception ignored) { continue; }
+    /** Restores in-memory protection state for an entity carrying our PDC marks. */
+    public void onEntityLoaded(Entity e) {
+        if (e == null || !cfg.protectEnabled()) return;
+        var pdc = e.getPersistentDataContainer();
+        Byte t = pdc.get(kTracked, PersistentDataType.BYTE);
+        if (t == null || t != (byte) 1) return;
 
-            long expireAt = section.getLong(key + ".expireAtMs", 0L);
-            if (expireAt <= 0L || expireAt < now) {
-                removePersistentProtectionSync(pid);
-                continue;
-            }
+        Long expire = pdc.get(kExpire, PersistentDataType.LONG);
+        if (expire == null || expire < System.currentTimeMillis()) {
+            removeTracking(e.getUniqueId(), e);
+            return;
+        }
 
-            UUID owner = null;
-            String ownerStr = section.getString(key + ".owner", null);
-            if (ownerStr != null && !ownerStr.isBlank()) {
-                try { owner = UUID.fromString(ownerStr); } catch (Exception ignored) {}
-            }
+        UUID owner = null;
+        String ownerStr = pdc.get(kOwner, PersistentDataType.STRING);
+        if (ownerStr != null) {
+            try { owner = UUID.fromString(ownerStr); } catch (Exception ignored) {}
+        }
 
-            protectedPokemon.put(pid, expireAt);
-            syncCoreProtection(pid, expireAt, owner);
+        UUID pokemonUuid = null;
+        String pidStr = pdc.get(kPokemonUuid, PersistentDataType.STRING);
+        if (pidStr != null) {
+            try { pokemonUuid = UUID.fromString(pidStr); } catch (Exception ignored) {}
         }
+        if (pokemonUuid == null) pokemonUuid = tryReadPokemonUuidFromEntity(e);
 
-        queueSave();
-    }
+        putTracked(e.getUniqueId(), expire);
+        if (pokemonUuid != null) {
+            linkPokemon(e.getUniqueId(), pokemonUuid);
+            putProtected(pokemonUuid, expire);
+            syncCoreProtection(pokemonUuid, expire, owner);
+        }
 
-    private void upsertPersistentProtection(UUID pokemonUuid, long expireAtMs, UUID ownerUuid) {
-        if (pokemonUuid == null) return;
-        Bukkit.getScheduler().runTask(plugin, () -> {
-            synchronized (fileLock) {
-                var yml = yaml();
-                if (yml == null) return;
-                String k = "records." + pokemonUuid;
-                yml.set(k + ".expireAtMs", expireAtMs);
-                yml.set(k + ".owner", ownerUuid == null ? "" : ownerUuid.toString());
-                queueSave();
-            }
-        });
+        setUnbattleable(e, owner == null);
     }
 
-    private void removePersistentProtection(UUID pokemonUuid) {
-        if (pokemonUuid == null) return;
-        Bukkit.getScheduler().runTask(plugin, () -> {
-            synchronized (fileLock) {
-                removePersistentProtectionSync(pokemonUuid);
-                queueSave();
-            }
-        });
+    /**
+     * Drops in-memory entity state when its chunk unloads. The PDC marks, the Pokemon-level
+     * protection and the journal record stay, so the entity is restored on its next load.
+     */
+    public void onEntityUnloaded(Entity e) {
+        if (e == null) return;
+        UUID entityUuid = e.getUniqueId();
+        if (!trackedIds.remove(entityUuid)) return;
+        tracked.remove(entityUuid);
+        UUID pokemonUuid = entityToPokemon.remove(entityUuid);
+        if (pokemonUuid != null) pokemonToEntity.remove(pokemonUuid, entityUuid);
     }
 
-    private void removePersistentProtectionSync(UUID pokemonUuid) {
-        if (pokemonUuid == null) return;
-        var yml = yaml();
-        if (yml == null) return;
-        yml.set("records." + pokemonUuid, null);
+    /**
+     * Applies the journal's startup snapshot once the writer thread has replayed it.
+     * Only the in-memory/CobbleCore side runs here, on the main thread; the file was read off-thread.
+     */
+    private void resyncPersistentProtectionToCore() {
+        journal.loaded().thenAccept(records -> Bukkit.getScheduler().runTask(plugin, () -> {
+            long now = System.currentTimeMillis();
+            records.forEach((pid, entry) -> {
+                if (entry.expireAt() < now) return;
+                putProtected(pid, entry.expireAt());
+                syncCoreProtection(pid, entry.expireAt(), entry.owner());
+            });
+        }));
     }
 
-    private YamlConfiguration yaml() {
-        YamlConfiguration y = persistentYaml;
-        if (y != null) return y;
-        synchronized (fileLock) {
-            if (persistentYaml != null) return persistentYaml;
-            persistentYaml = loadYamlQuietly();
-            return persistentYaml;
-        }
+    private void upsertPersistentProtection(UUID pokemonUuid, long expireAtMs, UUID ownerUuid) {
+        journal.upsert(pokemonUuid, expireAtMs, ownerUuid);
     }
 
-    private YamlConfiguration loadYamlQuietly() {
-        try {
-            if (!plugin.getDataFolder().exists()) {
-                //noinspection ResultOfMethodCallIgnored
-                plugin.getDataFolder().mkdirs();
-            }
-            if (!persistentFile.exists()) {
-                YamlConfiguration fresh = new YamlConfiguration();
-                fresh.set("records", new java.util.LinkedHashMap<String, Object>());
-                return fresh;
-            }
-            YamlConfiguration loaded = YamlConfiguration.loadConfiguration(persistentFile);
-            if (loaded.get("records") == null) loaded.set("records", new java.util.LinkedHashMap<String, Object>());
-            return loaded;
-        } catch (Throwable ignored) {
-            return null;
-        }
+    private void removePersistentProtection(UUID pokemonUuid) {
+        journal.remove(pokemonUuid);
     }
 
-    private void queueSave() {
-        if (yaml() == null) return;
-        if (saveQueued) return;
-        saveQueued = true;
-        Bukkit.getScheduler().runTaskLater(plugin, () -> {
-            synchronized (fileLock) {
-                try {
-                    var yml = yaml();
-                    if (yml != null) yml.save(persistentFile);
-                } catch (Throwable ignored) {
-                } finally {
-                    saveQueued = false;
-                }
-            }
-        }, 1L);
+    /** Flushes pending protection records; called from onDisable. */
+    public void shutdown() {
+        journal.close();
     }
 
     private UUID tryReadPokemonUuidFromEntity(Entity bukkitEntity) {
-        if (bukkitEntity == null) return null;
-        try {
-            Object handle = bukkitEntity.getClass().getMethod("getHandle").invoke(bukkitEntity);
-            if (handle == null) return null;
-            Object pokemon = handle.getClass().getMethod("getPokemon").invoke(handle);
-            if (pokemon == null) return null;
-            Object pu = pokemon.getClass().getMethod("getUuid").invoke(pokemon);
-            return pu instanceof UUID id ? id : null;
-        } catch (Throwable ignored) {
-            return null;
-        }
+        return PokemonEntityHandles.pokemonUuid(bukkitEntity);
     }
 
     /**
@@ -420,26 +414,6 @@ public final class ProtectionService {
      * battle pre-events are skipped by some battle starters.
      */
     private void setUnbattleable(Entity bukkitEntity, boolean on) {
-        if (bukkitEntity == null) return;
-        try {
-            Object handle = bukkitEntity.getClass().getMethod("getHandle").invoke(bukkitEntity);
-            if (handle == null) return;
-
-            Object entityData = handle.getClass().getMethod("getEntityData").invoke(handle);
-            if (entityData == null) return;
-
-            Object accessor = handle.getClass().getField("UNBATTLEABLE").get(null);
-            if (accessor == null) return;
-
-            for (var m : entityData.getClass().getMethods()) {
-                if (!m.getName().equals("set")) continue;
-                if (m.getParameterCount() != 2) continue;
-                if (!m.getParameterTypes()[0].isInstance(accessor)) continue;
-                m.setAccessible(true);
-                m.invoke(entityData, accessor, on);
-                return;
-            }
-        } catch (Throwable ignored) {
-        }
+        PokemonEntityHandles.setUnbattleable(bukkitEntity, on);
     }
 }
@@ -1,7 +1,7 @@
 package com.polaris.cobbletip.service;
 
-import com.polaris.cobbletip.util.Msg;
 import com.polaris.cobbletip.util.TipConfig;
+import com.polaris.cobbletip.util.UuidSet;
 import net.milkbowl.vault.economy.Economy;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
@@ -11,25 +11,49 @@ import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.Plugin;
 
-import java.util.Map;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
 
+/**
+ * /ctp teleports: tracked targets, cooldown and cost, then a safe landing spot.
+ * <p>
+ * When the target chunk is not loaded and the server has Paper's {@code World#getChunkAtAsync}, the chunk is
+ * loaded off the main thread and the landing scan runs once it is ready; the move itself uses
+ * {@code Entity#teleportAsync} when available. Both are looked up reflectively and fall back to the blocking
+ * Bukkit calls on plain Spigot. While a teleport is in flight the player is told so and further /ctp clicks
+ * are refused before any cost is taken. Cooldown and cost are taken when the teleport starts and given back
+ * if it does not happen (target gone, player quit, teleport refused).
+ */
 public final class TeleportService {
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    // Paper only; null on Spigot
+    private static final MethodHandle CHUNK_AT_ASYNC = findAsync(World.class, "getChunkAtAsync", int.class, int.class);
+    private static final MethodHandle TELEPORT_ASYNC = findAsync(Entity.class, "teleportAsync", Location.class);
+
+    /** What a teleport took from the player, so a failed one can be undone. */
+    private record Charge(double cost, long previousCooldown) {}
+
     private final Plugin plugin;
-    private TipConfig cfg;
+    private volatile TipConfig cfg;
     private Economy economy;
-    private final Map<UUID, Long> cooldown = new ConcurrentHashMap<>();
-    private final Map<String, Long> trackedLocations = new ConcurrentHashMap<>();
+    private final PlayerStateStore.Slot cooldown;
+    private final TrackedLocations trackedLocations = new TrackedLocations();
+    private final UuidSet pending = new UuidSet();
 
-    public TeleportService(Plugin plugin, TipConfig cfg) {
+    public TeleportService(Plugin plugin, TipConfig cfg, PlayerStateStore playerState) {
         this.plugin = plugin;
         this.cfg = cfg;
+        this.cooldown = playerState.slot("teleportCooldown", cfg.tpCooldownSeconds() * 1000L, 4096);
         hookVault();
     }
 
     public void reload(TipConfig cfg) {
         this.cfg = cfg;
+        cooldown.ttlMs(cfg.tpCooldownSeconds() * 1000L);
         hookVault();
     }
 
@@ -44,16 +68,18 @@ public final class TeleportService {
     public void teleportToEntity(Player p, UUID entityUuid) {
         if (p == null) return;
         if (!cfg.tpEnabled()) {
-            p.sendMessage(Msg.color(Msg.apply("{prefix}&c传送功能已关闭。", cfg)));
+            p.sendMessage(cfg.msgTeleportDisabled().render());
             return;
         }
+        if (rejectIfPending(p)) return;
         if (p.hasPermission("cobbletip.teleport.bypass")) {
-            doTeleportToEntity(p, entityUuid);
+            doTeleportToEntity(p, entityUuid, null);
             return;
         }
 
-        if (!checkAndConsumeCost(p)) return;
-        doTeleportToEntity(p, entityUuid);
+        Charge charge = checkAndConsumeCost(p);
+        if (charge == null) return;
+        doTeleportToEntity(p, entityUuid, charge);
     }
 
     // 兼容旧调用（CtpCommand 里历史遗留的 tp.teleport(...)）
@@ -63,19 +89,18 @@ public final class TeleportService {
 
     public void trackLocation(World world, int x, int y, int z) {
         if (world == null) return;
-        long expireAt = System.currentTimeMillis() + cfg.protectDurationSeconds() * 1000L;
-        trackedLocations.put(locKey(world, x, y, z), expireAt);
+        long now = System.currentTimeMillis();
+        trackedLocations.track(world, x, y, z, now + cfg.protectDurationSeconds() * 1000L, now);
+    }
 
-        if (trackedLocations.size() > 4096) {
-            long now = System.currentTimeMillis();
-            trackedLocations.entrySet().removeIf(e -> e.getValue() < now);
-        }
+    public int trackedLocationCount() {
+        return trackedLocations.size();
     }
 
     public void teleportToLocation(Player p, World world, double x, double y, double z) {
         if (p == null || world == null) return;
         if (!cfg.tpEnabled()) {
-            p.sendMessage(Msg.color(Msg.apply("{prefix}&c传送功能已关闭。", cfg)));
+            p.sendMessage(cfg.msgTeleportDisabled().render());
             return;
         }
 
@@ -83,79 +108,166 @@ public final class TeleportService {
             int bx = (int) Math.floor(x);
             int by = (int) Math.floor(y);
             int bz = (int) Math.floor(z);
-            if (!isTrackedLocation(world, bx, by, bz)) {
-                p.sendMessage(Msg.color(Msg.apply(cfg.msgNotTracked(), cfg)));
+            if (!trackedLocations.isTracked(world, bx, by, bz, System.currentTimeMillis())) {
+                p.sendMessage(cfg.msgNotTracked().render());
                 return;
             }
         }
 
+        if (rejectIfPending(p)) return;
+        Charge charge = null;
         if (!p.hasPermission("cobbletip.teleport.bypass")) {
-            if (!checkAndConsumeCost(p)) return;
+            charge = checkAndConsumeCost(p);
+            if (charge == null) return;
         }
 
         Location raw = new Location(world, x, y, z, p.getLocation().getYaw(), p.getLocation().getPitch());
-        doTeleportToLocation(p, raw);
-    }
-
-    private boolean isTrackedLocation(World world, int x, int y, int z) {
-        String key = locKey(world, x, y, z);
-        Long expire = trackedLocations.get(key);
-        if (expire == null) return false;
-        long now = System.currentTimeMillis();
-        if (expire < now) {
-            trackedLocations.remove(key);
-            return false;
-        }
-        return true;
-    }
-
-    private static String locKey(World world, int x, int y, int z) {
-        return world.getName() + "|" + x + "|" + y + "|" + z;
+        doTeleportToLocation(p, raw, charge);
     }
 
-    private boolean checkAndConsumeCost(Player p) {
+    /** @return what was taken, or null if the player is on cooldown or cannot pay (they have been told) */
+    private Charge checkAndConsumeCost(Player p) {
         long now = System.currentTimeMillis();
         long cdMs = cfg.tpCooldownSeconds() * 1000L;
         long last = cooldown.getOrDefault(p.getUniqueId(), 0L);
         long leftMs = (last + cdMs) - now;
         if (leftMs > 0) {
             long leftSec = (leftMs + 999) / 1000;
-            p.sendMessage(Msg.color(Msg.apply(cfg.msgTeleportCooldown(), cfg, "seconds", String.valueOf(leftSec))));
-            return false;
+            p.sendMessage(cfg.msgTeleportCooldown().render("seconds", String.valueOf(leftSec)));
+            return null;
         }
 
+        double cost = 0;
         if (cfg.tpEcoEnabled() && economy != null && !p.hasPermission("cobbletip.teleport.free")) {
-            double cost = cfg.tpEcoCost();
-            if (!economy.has(p, cost)) {
-                p.sendMessage(Msg.color(Msg.apply(cfg.msgTeleportNoMoney(), cfg, "cost", String.valueOf(cost))));
-                return false;
+            cost = cfg.tpEcoCost();
+            if (!economy.has(p, cost) || !economy.withdrawPlayer(p, cost).transactionSuccess()) {
+                p.sendMessage(cfg.msgTeleportNoMoney().render("cost", String.valueOf(cost)));
+                return null;
             }
-            economy.withdrawPlayer(p, cost);
         }
 
         cooldown.put(p.getUniqueId(), now);
-        return true;
+        return new Charge(cost, last);
+    }
+
+    /** Gives back the cost and cooldown of a teleport that did not happen. Works for players who have quit. */
+    private void refund(Player p, Charge charge) {
+        if (charge == null) return;
+        cooldown.put(p.getUniqueId(), charge.previousCooldown());
+        if (charge.cost() > 0 && economy != null) {
+            try { economy.depositPlayer(p, charge.cost()); } catch (Throwable ignored) {}
+        }
     }
 
-    private void doTeleportToEntity(Player p, UUID entityUuid) {
+    private void doTeleportToEntity(Player p, UUID entityUuid, Charge charge) {
         Entity e = Bukkit.getEntity(entityUuid);
         if (e == null) {
-            p.sendMessage(Msg.color(Msg.apply(cfg.msgEntityNotFound(), cfg)));
+            refund(p, charge);
+            p.sendMessage(cfg.msgEntityNotFound().render());
             return;
         }
         Location loc = e.getLocation().clone().add(0, 1.0, 0);
         loc.setYaw(p.getLocation().getYaw());
         loc.setPitch(p.getLocation().getPitch());
-        loc = toSafeLocation(loc);
+        teleportSafely(p, loc, charge);
+    }
+
+    private void doTeleportToLocation(Player p, Location raw, Charge charge) {
+        teleportSafely(p, raw, charge);
+    }
+
+    private boolean rejectIfPending(Player p) {
+        if (!pending.contains(p.getUniqueId())) return false;
+        p.sendMessage(cfg.msgTeleportBusy().render());
+        return true;
+    }
 
-        p.teleport(loc);
-        p.sendMessage(Msg.color(Msg.apply(cfg.msgTeleportSuccess(), cfg)));
+    /** Scans for a landing spot once the target chunk is loaded, loading it asynchronously when the server can. */
+    private void teleportSafely(Player p, Location target, Charge charge) {
+        World w = target.getWorld();
+        if (w == null) {
+            refund(p, charge);
+            return;
+        }
+        int cx = target.getBlockX() >> 4;
+        int cz = target.getBlockZ() >> 4;
+        if (CHUNK_AT_ASYNC == null || w.isChunkLoaded(cx, cz)) {
+            finishTeleport(p, toSafeLocation(target), charge);
+            return;
+        }
+
+        CompletableFuture<?> load;
+        try {
+            load = (CompletableFuture<?>) CHUNK_AT_ASYNC.invokeExact(w, cx, cz);
+        } catch (Throwable t) {
+            finishTeleport(p, toSafeLocation(target), charge);
+            return;
+        }
+        UUID id = p.getUniqueId();
+        pending.add(id);
+        p.sendMessage(cfg.msgTeleportPending().render());
+        // If the async load failed, the scan below loads the chunk synchronously, as before.
+        load.whenComplete((chunk, err) -> onMainThread(() -> {
+            if (!p.isOnline()) {
+                pending.remove(id);
+                refund(p, charge);
+                return;
+            }
+            finishTeleport(p, toSafeLocation(target), charge);
+        }));
+    }
+
+    private void finishTeleport(Player p, Location loc, Charge charge) {
+        UUID id = p.getUniqueId();
+        if (TELEPORT_ASYNC != null) {
+            CompletableFuture<?> move = null;
+            try {
+                move = (CompletableFuture<?>) TELEPORT_ASYNC.invokeExact((Entity) p, loc);
+            } catch (Throwable ignored) {}
+            if (move != null) {
+                pending.add(id);
+                move.whenComplete((ok, err) -> onMainThread(() -> {
+                    pending.remove(id);
+                    if (err != null || Boolean.FALSE.equals(ok)) {
+                        refund(p, charge);
+                    } else if (p.isOnline()) {
+                        p.sendMessage(cfg.msgTeleportSuccess().render());
+                    }
+                }));
+                return;
+            }
+        }
+        pending.remove(id);
+        if (!p.teleport(loc)) {
+            refund(p, charge);
+            return;
+        }
+        p.sendMessage(cfg.msgTeleportSuccess().render());
     }
 
-    private void doTeleportToLocation(Player p, Location raw) {
-        Location loc = toSafeLocation(raw);
-        p.teleport(loc);
-        p.sendMessage(Msg.color(Msg.apply(cfg.msgTeleportSuccess(), cfg)));
+    private void onMainThread(Runnable task) {
+        if (Bukkit.isPrimaryThread()) {
+            task.run();
+            return;
+        }
+        try {
+            Bukkit.getScheduler().runTask(plugin, task);
+        } catch (Throwable ignored) {
+            // plugin disabled while the chunk was loading
+        }
+    }
+
+    private static MethodHandle findAsync(Class<?> owner, String name, Class<?>... params) {
+        try {
+            Method m = owner.getMethod(name, params);
+            if (!CompletableFuture.class.isAssignableFrom(m.getReturnType())) return null;
+            Class<?>[] args = new Class<?>[params.length + 1];
+            args[0] = owner;
+            System.arraycopy(params, 0, args, 1, params.length);
+            return LOOKUP.unreflect(m).asType(MethodType.methodType(CompletableFuture.class, args));
+        } catch (Throwable ignored) {
+            return null;
+        }
     }
 
     private static Location toSafeLocation(Location base) {
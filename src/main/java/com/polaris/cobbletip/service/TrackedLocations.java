@@ -0,0 +1,116 @@
+package com.polaris.cobbletip.service;
+
+import com.polaris.cobbletip.util.LongLongMap;
+import org.bukkit.World;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Announced block positions that {@code /ctp} may target, with their expiry times.
+ * <p>
+ * Each world gets a small index and a {@link LongLongMap} from packed x/y/z to expire-at millis. Every insert
+ * also appends (world index, position, expire-at) to a FIFO queue. Because every entry gets the same lifetime,
+ * the queue is roughly in expiry order, so each call drains a few expired heads instead of scanning the map.
+ * A queue entry only removes its position if the map still holds that exact expiry; a re-announced position
+ * keeps its newer one. Main thread only.
+ */
+final class TrackedLocations {
+    private static final int DRAIN_PER_CALL = 16;
+
+    private final Map<String, Integer> worldIndex = new HashMap<>();
+    private final List<LongLongMap> byWorld = new ArrayList<>();
+
+    // FIFO ring of (world index, packed position, expire-at)
+    private int[] qWorld = new int[64];
+    private long[] qPos = new long[64];
+    private long[] qExpire = new long[64];
+    private int qHead;
+    private int qSize;
+
+    void track(World world, int x, int y, int z, long expireAt, long now) {
+        int wi = indexOf(world);
+        long pos = pack(x, y, z);
+        // 0 marks an empty slot in LongLongMap; an expiry of 0 would mean 1970 anyway
+        long expire = Math.max(1L, expireAt);
+        byWorld.get(wi).put(pos, expire);
+        enqueue(wi, pos, expire);
+        drain(now);
+    }
+
+    boolean isTracked(World world, int x, int y, int z, long now) {
+        drain(now);
+        Integer wi = worldIndex.get(world.getName());
+        if (wi == null) return false;
+        LongLongMap map = byWorld.get(wi);
+        long pos = pack(x, y, z);
+        long expire = map.get(pos);
+        if (expire == 0) return false;
+        if (expire < now) {
+            map.remove(pos);
+            return false;
+        }
+        return true;
+    }
+
+    int size() {
+        int n = 0;
+        for (LongLongMap m : byWorld) n += m.size();
+        return n;
+    }
+
+    private int indexOf(World world) {
+        Integer wi = worldIndex.get(world.getName());
+        if (wi != null) return wi;
+        wi = byWorld.size();
+        byWorld.add(new LongLongMap(64));
+        worldIndex.put(world.getName(), wi);
+        return wi;
+    }
+
+    private void drain(long now) {
+        for (int n = 0; n < DRAIN_PER_CALL && qSize > 0; n++) {
+            int i = qHead;
+            if (qExpire[i] >= now) return;
+            LongLongMap map = byWorld.get(qWorld[i]);
+            if (map.get(qPos[i]) == qExpire[i]) map.remove(qPos[i]);
+            qHead = (qHead + 1) & (qExpire.length - 1);
+            qSize--;
+        }
+    }
+
+    private void enqueue(int wi, long pos, long expire) {
+        if (qSize == qExpire.length) growQueue();
+        int i = (qHead + qSize) & (qExpire.length - 1);
+        qWorld[i] = wi;
+        qPos[i] = pos;
+        qExpire[i] = expire;
+        qSize++;
+    }
+
+    private void growQueue() {
+        int cap = qExpire.length;
+        int[] w = new int[cap << 1];
+        long[] p = new long[cap << 1];
+        long[] e = new long[cap << 1];
+        // unroll the ring so the head lands at 0
+        int first = cap - qHead;
+        System.arraycopy(qWorld, qHead, w, 0, first);
+        System.arraycopy(qWorld, 0, w, first, qHead);
+        System.arraycopy(qPos, qHead, p, 0, first);
+        System.arraycopy(qPos, 0, p, first, qHead);
+        System.arraycopy(qExpire, qHead, e, 0, first);
+        System.arraycopy(qExpire, 0, e, first, qHead);
+        qWorld = w;
+        qPos = p;
+        qExpire = e;
+        qHead = 0;
+    }
+
+    /** x and z in 26 bits each, y in 12 (the same layout as Minecraft's BlockPos.asLong). */
+    private static long pack(int x, int y, int z) {
+        return ((long) (x & 0x3FFFFFF) << 38) | ((long) (z & 0x3FFFFFF) << 12) | (y & 0xFFFL);
+    }
+}
@@ -0,0 +1,82 @@
+package com.polaris.cobbletip.service;
+
+import org.bukkit.plugin.Plugin;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One-off background preparation at enable: lang files, class lookups and reflective handles that would
+ * otherwise be resolved by the first spawn or click. Steps run in order on a daemon thread and each one's
+ * time is logged; a failing step is logged and skipped, since everything it prepares still resolves lazily.
+ * The render worker waits on {@link #await} so it never races a half-done step; the main thread never waits.
+ */
+public final class WarmUp {
+    private record Step(String name, Runnable task) {}
+
+    private final Plugin plugin;
+    private final List<Step> steps = new ArrayList<>();
+    private final CountDownLatch ready = new CountDownLatch(1);
+    private boolean started;
+
+    public WarmUp(Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    public WarmUp step(String name, Runnable task) {
+        if (started) throw new IllegalStateException("warm-up already started");
+        steps.add(new Step(name, task));
+        return this;
+    }
+
+    public void start() {
+        if (started) return;
+        started = true;
+        Thread t = new Thread(this::run, "CobbleTip-WarmUp");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    public boolean isReady() {
+        return ready.getCount() == 0;
+    }
+
+    /**
+     * Waits for the warm-up to finish. Never call this on the main thread.
+     *
+     * @return false if it was still running after {@code timeoutMs} (the caller then resolves lazily)
+     */
+    public boolean await(long timeoutMs) {
+        if (ready.getCount() == 0) return true;
+        try {
+            return ready.await(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void run() {
+        long start = System.nanoTime();
+        try {
+            for (Step step : steps) {
+                long t0 = System.nanoTime();
+                try {
+                    step.task().run();
+                    plugin.getLogger().info("[CobbleTip] Warm-up " + step.name() + ": " + millis(t0) + "ms");
+                } catch (Throwable t) {
+                    plugin.getLogger().warning("[CobbleTip] Warm-up " + step.name() + " failed after " + millis(t0) + "ms: " + t);
+                }
+            }
+        } finally {
+            ready.countDown();
+        }
+        plugin.getLogger().info("[CobbleTip] Warm-up done in " + millis(start) + "ms");
+    }
+
+    private static long millis(long sinceNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - sinceNanos);
+    }
+}
@@ -0,0 +1,126 @@
+package com.polaris.cobbletip.service;
+
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.plugin.Plugin;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Maps the dimension ids CobbleCore reports to Bukkit worlds, and worlds to their display names.
+ * <p>
+ * Built on enable/reload and kept current through {@code WorldLoadEvent}/{@code WorldUnloadEvent}
+ * ({@code WorldDirectoryListener}). Each world is registered under its name, {@code minecraft:<name>} and its
+ * namespaced key; the vanilla dimensions keep their fixed {@code world}, {@code world_nether},
+ * {@code world_the_end} mapping. Multiverse-Core aliases are read through MethodHandles resolved once per
+ * rebuild, so a spawn is two map lookups. An alias changed with {@code /mv modify} is picked up on the next
+ * world load or {@code /cobbletip reload} (documented next to {@code messages} in config.yml). Main thread only.
+ */
+public final class WorldDirectory {
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final String MINECRAFT = "minecraft:";
+
+    private final Map<String, World> byId = new HashMap<>();
+    private final Map<String, String> displayNames = new HashMap<>();
+
+    // MVWorldManager.getMVWorld(World) bound to the manager, and MultiverseWorld.getAlias(); null without Multiverse
+    private MethodHandle getMVWorld;
+    private MethodHandle getAlias;
+
+    /** Re-resolves Multiverse and re-registers every loaded world (enable / reload, aliases may have changed). */
+    public void rebuild() {
+        byId.clear();
+        displayNames.clear();
+        resolveMultiverse();
+        for (World w : Bukkit.getWorlds()) add(w);
+    }
+
+    public void add(World w) {
+        if (w == null) return;
+        String name = w.getName();
+        byId.put(name, w);
+        byId.put(MINECRAFT + name, w);
+        try { byId.putIfAbsent(w.getKey().toString(), w); } catch (Throwable ignored) {}
+        switch (name) {
+            case "world" -> byId.put("minecraft:overworld", w);
+            case "world_nether" -> byId.put("minecraft:the_nether", w);
+            case "world_the_end" -> byId.put("minecraft:the_end", w);
+            default -> {}
+        }
+        displayNames.put(name, alias(w));
+    }
+
+    public void remove(World w) {
+        if (w == null) return;
+        byId.values().removeIf(v -> v == w || v.getName().equals(w.getName()));
+        displayNames.remove(w.getName());
+    }
+
+    /** @return the Bukkit world for a dimension id or world name, or null */
+    public World resolve(String mcWorldId) {
+        if (mcWorldId == null) return null;
+        World w = byId.get(mcWorldId);
+        if (w != null) return w;
+
+        // Not registered under any known id (e.g. a modded dimension named differently): look it up once and remember it.
+        w = Bukkit.getWorld(mcWorldId);
+        if (w == null && mcWorldId.startsWith(MINECRAFT)) w = Bukkit.getWorld(mcWorldId.substring(MINECRAFT.length()));
+        if (w != null) byId.put(mcWorldId, w);
+        return w;
+    }
+
+    /** Re-reads the alias; Multiverse registers a world it creates only after the load event. */
+    public void refreshAlias(World w) {
+        if (w != null && byId.get(w.getName()) == w) displayNames.put(w.getName(), alias(w));
+    }
+
+    /** Multiverse alias if set, otherwise the world name. */
+    public String displayName(World w) {
+        if (w == null) return "unknown";
+        String name = displayNames.get(w.getName());
+        if (name != null) return name;
+        name = alias(w);
+        displayNames.put(w.getName(), name);
+        return name;
+    }
+
+    private String alias(World w) {
+        if (getMVWorld == null) return w.getName();
+        try {
+            Object mvWorld = (Object) getMVWorld.invokeExact(w);
+            if (mvWorld != null) {
+                Object alias = (Object) getAlias.invokeExact(mvWorld);
+                if (alias instanceof String s && !s.isBlank()) return s;
+            }
+        } catch (Throwable ignored) {}
+        return w.getName();
+    }
+
+    private void resolveMultiverse() {
+        getMVWorld = null;
+        getAlias = null;
+        try {
+            Plugin mv = Bukkit.getPluginManager().getPlugin("Multiverse-Core");
+            if (mv == null || !mv.isEnabled()) return;
+            Object manager = mv.getClass().getMethod("getMVWorldManager").invoke(mv);
+            if (manager == null) return;
+
+            Method m = manager.getClass().getMethod("getMVWorld", World.class);
+            m.setAccessible(true);
+            MethodHandle worldLookup = LOOKUP.unreflect(m).bindTo(manager)
+                    .asType(MethodType.methodType(Object.class, World.class));
+
+            // getAlias() is declared on the MultiverseWorld interface; resolve it there so every impl class works.
+            Method a = m.getReturnType().getMethod("getAlias");
+            MethodHandle aliasGetter = LOOKUP.unreflect(a).asType(MethodType.methodType(Object.class, Object.class));
+
+            getMVWorld = worldLookup;
+            getAlias = aliasGetter;
+        } catch (Throwable ignored) {}
+    }
+}
@@ -0,0 +1,175 @@
+package com.polaris.cobbletip.util;
+
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Cobblemon species names in any client locale.
+ * <p>
+ * {@code assets/cobblemon/lang/<locale>.json} is read the first time a locale is asked for. Only its
+ * {@code cobblemon.species.<path>.name} entries are kept, keyed by {@code <path>} in an immutable map sized to
+ * fit. Missing names fall back to the default locale ({@code announce.locale.default}), then to the species id
+ * made readable ({@code cobblemon:tapu_koko} -> {@code Tapu koko}). Each locale also remembers the final name per
+ * raw species id, so a repeat spawn costs two hash lookups and no allocation. The plugin's warm-up calls
+ * {@link #preload} so the first announcement does not pay for parsing. Safe to call from any thread.
+ */
+public final class CobblemonLang {
+    private static final String RESOURCE_PREFIX = "assets/cobblemon/lang/";
+    private static final String SPECIES_PREFIX = "cobblemon.species.";
+    private static final String NAME_SUFFIX = ".name";
+    private static final String BUILTIN_DEFAULT = "zh_cn";
+    private static final String UNKNOWN = "unknown";
+    private static final Pattern LOCALE = Pattern.compile("[a-z]{2,3}_[a-z0-9]{2,4}");
+    // client locale strings are remembered as given; past this many, odd spellings are normalized on every lookup
+    private static final int MAX_ALIASES = 64;
+    // species ids are a closed set; the cap only guards against something feeding arbitrary ids
+    private static final int MAX_MEMO = 4096;
+
+    private static final class Table {
+        final Map<String, String> byPath;
+        final Map<String, String> display = new ConcurrentHashMap<>();
+
+        Table(Map<String, String> byPath) {
+            this.byPath = byPath;
+        }
+    }
+
+    private final Map<String, Table> loaded = new ConcurrentHashMap<>();
+    private final Map<String, Table> aliases = new ConcurrentHashMap<>();
+    private volatile String defaultLocale;
+    private volatile Table defaultTable;
+
+    public CobblemonLang(TipConfig cfg) {
+        reload(cfg);
+    }
+
+    /** Loaded tables are kept; lang files do not change while the server runs. */
+    public void reload(TipConfig cfg) {
+        String d = normalize(cfg.localeDefault());
+        if (d == null) d = BUILTIN_DEFAULT;
+        if (d.equals(defaultLocale)) return;
+        this.defaultLocale = d;
+        this.defaultTable = null;
+        // Unrecognized locales and remembered names may point at the previous default.
+        aliases.clear();
+        for (Table t : loaded.values()) t.display.clear();
+    }
+
+    /** Loads the default locale and the given client locales now (warm-up thread). */
+    public void preload(Collection<String> locales) {
+        defaultTable();
+        for (String locale : locales) table(locale);
+    }
+
+    public String defaultLocale() {
+        return defaultLocale;
+    }
+
+    /** Number of lang files loaded so far (including ones that turned out to be missing). */
+    public int loadedLocales() {
+        return loaded.size();
+    }
+
+    /**
+     * @param locale client locale such as {@code en_us}; null means the default locale
+     * @return the display name, never null
+     */
+    public String speciesName(String locale, String speciesId) {
+        if (speciesId == null) return UNKNOWN;
+        Table t = locale == null ? defaultTable() : table(locale);
+        String name = t.display.get(speciesId);
+        if (name != null) return name;
+
+        String path = idPath(speciesId);
+        name = path.isEmpty() ? null : t.byPath.get(path);
+        if (name == null && !path.isEmpty()) name = defaultTable().byPath.get(path);
+        if (name == null) name = prettify(speciesId);
+        if (t.display.size() < MAX_MEMO) t.display.put(speciesId, name);
+        return name;
+    }
+
+    private Table table(String locale) {
+        Table t = aliases.get(locale);
+        if (t != null) return t;
+
+        String n = normalize(locale);
+        t = n == null ? defaultTable() : loaded.computeIfAbsent(n, CobblemonLang::load);
+        if (aliases.size() < MAX_ALIASES) aliases.putIfAbsent(locale, t);
+        return t;
+    }
+
+    private Table defaultTable() {
+        Table t = defaultTable;
+        if (t == null) {
+            t = loaded.computeIfAbsent(defaultLocale, CobblemonLang::load);
+            defaultTable = t;
+        }
+        return t;
+    }
+
+    /** {@code cobblemon:tapu_koko} / {@code cobblemon.species.tapu_koko} -> {@code tapu_koko} */
+    private static String idPath(String idLike) {
+        String s = idLike.trim();
+        if (s.isEmpty()) return "";
+        int dot = s.lastIndexOf('.');
+        if (dot >= 0 && dot + 1 < s.length()) s = s.substring(dot + 1);
+        int colon = s.lastIndexOf(':');
+        if (colon >= 0 && colon + 1 < s.length()) s = s.substring(colon + 1);
+        int slash = s.lastIndexOf('/');
+        if (slash >= 0 && slash + 1 < s.length()) s = s.substring(slash + 1);
+        return s.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /** Readable name for species no lang file knows. */
+    private static String prettify(String speciesId) {
+        String s = speciesId.trim();
+        int colon = s.indexOf(':');
+        if (colon >= 0 && colon + 1 < s.length()) s = s.substring(colon + 1);
+        s = s.replace('_', ' ').replace('-', ' ').trim();
+        if (s.isEmpty()) return UNKNOWN;
+        return Character.toUpperCase(s.charAt(0)) + s.substring(1);
+    }
+
+    /** @return {@code xx_yy} in lower case, or null if it cannot name a lang file */
+    private static String normalize(String locale) {
+        if (locale == null) return null;
+        String s = locale.trim().replace('-', '_').toLowerCase(Locale.ROOT);
+        return LOCALE.matcher(s).matches() ? s : null;
+    }
+
+    private static Table load(String locale) {
+        try (InputStream in = openResource(RESOURCE_PREFIX + locale + ".json")) {
+            if (in == null) return new Table(Map.of());
+            Map<String, String> raw = FlatJsonReader.read(in, k -> k.startsWith(SPECIES_PREFIX) && k.endsWith(NAME_SUFFIX));
+            Map<String, String> byPath = new HashMap<>(raw.size() * 2);
+            for (Map.Entry<String, String> e : raw.entrySet()) {
+                String key = e.getKey();
+                String path = key.substring(SPECIES_PREFIX.length(), key.length() - NAME_SUFFIX.length());
+                if (!path.isEmpty()) byPath.put(path, e.getValue());
+            }
+            return new Table(Map.copyOf(byPath));
+        } catch (Throwable ignored) {
+            return new Table(Map.of());
+        }
+    }
+
+    private static InputStream openResource(String resource) {
+        try {
+            InputStream in = Thread.currentThread().getContextClassLoader().getResourceAsStream(resource);
+            if (in != null) return in;
+        } catch (Throwable ignored) {}
+        try {
+            InputStream in = org.bukkit.Bukkit.getServer().getClass().getClassLoader().getResourceAsStream(resource);
+            if (in != null) return in;
+        } catch (Throwable ignored) {}
+        try {
+            return CobblemonLang.class.getClassLoader().getResourceAsStream(resource);
+        } catch (Throwable ignored) {}
+        return null;
+    }
+}
@@ -0,0 +1,239 @@
+package com.polaris.cobbletip.util;
+
+import net.md_5.bungee.api.ChatColor;
+import net.md_5.bungee.api.chat.BaseComponent;
+import net.md_5.bungee.api.chat.ClickEvent;
+import net.md_5.bungee.api.chat.HoverEvent;
+import net.md_5.bungee.api.chat.TextComponent;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A {@link MsgTemplate} pre-parsed into styled runs, so a chat line can be built without going through
+ * {@code TextComponent.fromLegacyText} and substring searches on every send.
+ * <p>
+ * Legacy color codes in the template are resolved at reload. Each run stores only its style change relative
+ * to the previous run, so a placeholder value still picks up the style in effect where it is inserted, and
+ * codes inside a value (e.g. {sourcePart}) carry over to the text after it, as they did when the whole line
+ * was parsed at once. Which runs receive the click/hover events is decided at compile time.
+ */
+public final class ComponentTemplate {
+    private static final int BOLD = 1;
+    private static final int ITALIC = 1 << 1;
+    private static final int UNDERLINED = 1 << 2;
+    private static final int STRIKETHROUGH = 1 << 3;
+    private static final int OBFUSCATED = 1 << 4;
+
+    private static final BaseComponent[] NO_RUNS = new BaseComponent[0];
+
+    /**
+     * One styled piece. Literal runs carry {@code text}; placeholder runs carry {@code slot}.
+     * {@code absolute} runs start from {@code color} with no formats (a color/reset code was seen);
+     * otherwise {@code flags} are added to the current style.
+     */
+    private record Run(String text, String slot, boolean absolute, ChatColor color, int flags, boolean target) {
+        Run withTarget(boolean t) {
+            return t == target ? this : new Run(text, slot, absolute, color, flags, t);
+        }
+    }
+
+    private final Run[] runs;
+
+    private ComponentTemplate(Run[] runs) {
+        this.runs = runs;
+    }
+
+    /** No run receives events. */
+    public static ComponentTemplate plain(MsgTemplate tpl) {
+        return new ComponentTemplate(parseTemplate(tpl).toArray(new Run[0]));
+    }
+
+    /** Events go to the value of placeholder {@code slot} (e.g. hover on {species}). */
+    public static ComponentTemplate bindSlot(MsgTemplate tpl, String slot) {
+        List<Run> runs = parseTemplate(tpl);
+        runs.replaceAll(r -> r.withTarget(r.slot() != null && r.slot().equals(slot)));
+        return new ComponentTemplate(runs.toArray(new Run[0]));
+    }
+
+    /**
+     * Events go to literal runs containing {@code needle} (color codes ignored); if none does, to the whole line.
+     */
+    public static ComponentTemplate bindText(MsgTemplate tpl, String needle) {
+        List<Run> runs = parseTemplate(tpl);
+        String plain = stripColors(needle);
+        if (plain.isBlank()) plain = "点击传送";
+        boolean matched = false;
+        for (int i = 0; i < runs.size(); i++) {
+            Run r = runs.get(i);
+            if (r.slot() == null && r.text().contains(plain)) {
+                runs.set(i, r.withTarget(true));
+                matched = true;
+            }
+        }
+        if (!matched) runs.replaceAll(r -> r.withTarget(true));
+        return new ComponentTemplate(runs.toArray(new Run[0]));
+    }
+
+    /**
+     * @param kv    alternating placeholder names and values, as for {@link MsgTemplate#render(String...)}
+     * @param click applied to target runs, may be null
+     * @param hover applied to target runs, may be null
+     */
+    public BaseComponent[] render(String[] kv, ClickEvent click, HoverEvent hover) {
+        List<BaseComponent> out = new ArrayList<>(runs.length + 2);
+        ChatColor color = ChatColor.WHITE;
+        int flags = 0;
+        for (Run r : runs) {
+            if (r.slot() == null) {
+                if (r.absolute()) {
+                    color = r.color();
+                    flags = 0;
+                }
+                flags |= r.flags();
+                add(out, r.text(), color, flags, r.target(), click, hover);
+                continue;
+            }
+
+            String value = MsgTemplate.lookup(r.slot(), kv);
+            value = value == null ? "{" + r.slot() + "}" : MsgTemplate.colorValue(value);
+            if (value.indexOf(ChatColor.COLOR_CHAR) < 0) {
+                add(out, value, color, flags, r.target(), click, hover);
+                continue;
+            }
+            // Values with their own codes are rare (pre-colored parts); parse just the value.
+            List<Run> parsed = new ArrayList<>(4);
+            parseLegacy(value, parsed);
+            for (Run v : parsed) {
+                if (v.absolute()) {
+                    color = v.color();
+                    flags = 0;
+                }
+                flags |= v.flags();
+                add(out, v.text(), color, flags, r.target(), click, hover);
+            }
+        }
+        if (out.isEmpty()) return new BaseComponent[] {new TextComponent("")};
+        return out.toArray(NO_RUNS);
+    }
+
+    private static void add(List<BaseComponent> out, String text, ChatColor color, int flags, boolean target,
+                            ClickEvent click, HoverEvent hover) {
+        if (text.isEmpty()) return;
+        TextComponent c = new TextComponent(text);
+        c.setColor(color);
+        if ((flags & BOLD) != 0) c.setBold(true);
+        if ((flags & ITALIC) != 0) c.setItalic(true);
+        if ((flags & UNDERLINED) != 0) c.setUnderlined(true);
+        if ((flags & STRIKETHROUGH) != 0) c.setStrikethrough(true);
+        if ((flags & OBFUSCATED) != 0) c.setObfuscated(true);
+        if (target) {
+            if (click != null) c.setClickEvent(click);
+            if (hover != null) c.setHoverEvent(hover);
+        }
+        out.add(c);
+    }
+
+    private static List<Run> parseTemplate(MsgTemplate tpl) {
+        List<Run> runs = new ArrayList<>();
+        if (tpl == null) return runs;
+        int n = tpl.placeholderCount();
+        for (int i = 0; i < n; i++) {
+            parseLegacy(tpl.literal(i), runs);
+            runs.add(new Run(null, tpl.placeholder(i), false, null, 0, false));
+        }
+        parseLegacy(tpl.literal(n), runs);
+        return runs;
+    }
+
+    /**
+     * Splits colored text into runs the way {@code fromLegacyText} does: a color or reset code replaces the
+     * style, a format code adds to it, unknown codes are dropped. A trailing style change with no text is
+     * kept as an empty run so it applies to what follows (the next placeholder).
+     */
+    private static void parseLegacy(String s, List<Run> out) {
+        StringBuilder text = new StringBuilder(s.length());
+        boolean absolute = false;
+        ChatColor color = null;
+        int flags = 0;
+
+        int n = s.length();
+        for (int i = 0; i < n; i++) {
+            char c = s.charAt(i);
+            if (c != ChatColor.COLOR_CHAR || i + 1 >= n) {
+                text.append(c);
+                continue;
+            }
+
+            char code = Character.toLowerCase(s.charAt(i + 1));
+            ChatColor cc;
+            int skip = 1;
+            if (code == 'x' && i + 13 < n) {
+                cc = hexColor(s, i + 2);
+                if (cc != null) skip = 13;
+            } else {
+                cc = ChatColor.getByChar(code);
+            }
+            i += skip;
+            if (cc == null) continue;
+
+            if (text.length() > 0) {
+                out.add(new Run(text.toString(), null, absolute, color, flags, false));
+                text.setLength(0);
+                absolute = false;
+                color = null;
+                flags = 0;
+            }
+
+            int f = formatFlag(cc);
+            if (f != 0) {
+                flags |= f;
+            } else {
+                absolute = true;
+                color = cc == ChatColor.RESET ? ChatColor.WHITE : cc;
+                flags = 0;
+            }
+        }
+        if (text.length() > 0 || absolute || flags != 0) {
+            out.add(new Run(text.toString(), null, absolute, color, flags, false));
+        }
+    }
+
+    /** §x§r§r§g§g§b§b starting at {@code from} (the first §). */
+    private static ChatColor hexColor(String s, int from) {
+        StringBuilder hex = new StringBuilder(7).append('#');
+        for (int j = 0; j < 6; j++) {
+            int p = from + j * 2;
+            if (s.charAt(p) != ChatColor.COLOR_CHAR || Character.digit(s.charAt(p + 1), 16) < 0) return null;
+            hex.append(s.charAt(p + 1));
+        }
+        try {
+            return ChatColor.of(hex.toString());
+        } catch (Throwable ignored) {
+            return null;
+        }
+    }
+
+    private static int formatFlag(ChatColor cc) {
+        if (cc == ChatColor.BOLD) return BOLD;
+        if (cc == ChatColor.ITALIC) return ITALIC;
+        if (cc == ChatColor.UNDERLINE) return UNDERLINED;
+        if (cc == ChatColor.STRIKETHROUGH) return STRIKETHROUGH;
+        if (cc == ChatColor.MAGIC) return OBFUSCATED;
+        return 0;
+    }
+
+    private static String stripColors(String s) {
+        if (s == null || s.isEmpty()) return "";
+        StringBuilder out = new StringBuilder(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if ((c == ChatColor.COLOR_CHAR || c == '&') && i + 1 < s.length()) {
+                i++;
+                continue;
+            }
+            out.append(c);
+        }
+        return out.toString();
+    }
+}
@@ -0,0 +1,152 @@
+package com.polaris.cobbletip.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Streaming reader for flat {@code {"key": "value", ...}} JSON objects such as Minecraft lang files.
+ * <p>
+ * Decodes UTF-8 straight from the stream into a reused char buffer, so the file is never held as one
+ * String. All state lives in the instance, so concurrent loads on different threads are independent.
+ * Escaped surrogate pairs are kept together; an unpaired escaped surrogate becomes U+FFFD.
+ * Reading stops at the first thing that is not a string member, keeping what was read so far.
+ */
+final class FlatJsonReader {
+    private static final int BUFFER_SIZE = 8192;
+    private static final char REPLACEMENT = '\uFFFD';
+
+    private final Reader in;
+    private final char[] buf = new char[BUFFER_SIZE];
+    private int pos;
+    private int limit;
+    private final StringBuilder sb = new StringBuilder(64);
+
+    private FlatJsonReader(InputStream in) {
+        this.in = new InputStreamReader(in, StandardCharsets.UTF_8);
+    }
+
+    /** Reads every member but keeps only those whose key passes {@code keep}. */
+    static Map<String, String> read(InputStream in, Predicate<String> keep) throws IOException {
+        return new FlatJsonReader(in).readObject(keep);
+    }
+
+    private Map<String, String> readObject(Predicate<String> keep) throws IOException {
+        Map<String, String> out = new HashMap<>(1024);
+        if (skipWs() != '{') return out;
+        pos++;
+
+        while (true) {
+            int c = skipWs();
+            if (c == '}' || c < 0) break;
+
+            String key = readString();
+            if (key == null) break;
+
+            if (skipWs() != ':') break;
+            pos++;
+
+            skipWs();
+            String value = readString();
+            if (value == null) break;
+            if (keep.test(key)) out.put(key, value);
+
+            c = skipWs();
+            if (c == ',') {
+                pos++;
+                continue;
+            }
+            break;
+        }
+        return out;
+    }
+
+    /** @return the next non-whitespace char without consuming it, or -1 at end of input */
+    private int skipWs() throws IOException {
+        while (true) {
+            if (pos >= limit && !fill()) return -1;
+            char c = buf[pos];
+            if (c != ' ' && c != '\n' && c != '\r' && c != '\t') return c;
+            pos++;
+        }
+    }
+
+    private int next() throws IOException {
+        if (pos >= limit && !fill()) return -1;
+        return buf[pos++];
+    }
+
+    private boolean fill() throws IOException {
+        int n = in.read(buf, 0, buf.length);
+        if (n <= 0) return false;
+        pos = 0;
+        limit = n;
+        return true;
+    }
+
+    private String readString() throws IOException {
+        if (next() != '"') return null;
+        StringBuilder sb = this.sb;
+        sb.setLength(0);
+        boolean escapedSurrogate = false;
+        while (true) {
+            int c = next();
+            if (c < 0) return null;
+            if (c == '"') break;
+            if (c != '\\') {
+                sb.append((char) c);
+                continue;
+            }
+
+            int e = next();
+            switch (e) {
+                case '"', '\\', '/' -> sb.append((char) e);
+                case 'b' -> sb.append('\b');
+                case 'f' -> sb.append('\f');
+                case 'n' -> sb.append('\n');
+                case 'r' -> sb.append('\r');
+                case 't' -> sb.append('\t');
+                case 'u' -> {
+                    int code = hex4();
+                    if (code < 0) return null;
+                    char ch = (char) code;
+                    escapedSurrogate |= Character.isSurrogate(ch);
+                    sb.append(ch);
+                }
+                case -1 -> { return null; }
+                default -> sb.append((char) e);
+            }
+        }
+        if (escapedSurrogate) repairSurrogates(sb);
+        return sb.toString();
+    }
+
+    /** Keeps well-formed high/low pairs (e.g. an escaped emoji) and replaces any unpaired half with U+FFFD. */
+    private static void repairSurrogates(StringBuilder sb) {
+        int n = sb.length();
+        for (int i = 0; i < n; i++) {
+            char c = sb.charAt(i);
+            if (Character.isHighSurrogate(c) && i + 1 < n && Character.isLowSurrogate(sb.charAt(i + 1))) {
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                sb.setCharAt(i, REPLACEMENT);
+            }
+        }
+    }
+
+    private int hex4() throws IOException {
+        int code = 0;
+        for (int k = 0; k < 4; k++) {
+            int c = next();
+            int d = c < 0 ? -1 : Character.digit((char) c, 16);
+            if (d < 0) return -1;
+            code = (code << 4) | d;
+        }
+        return code;
+    }
+}
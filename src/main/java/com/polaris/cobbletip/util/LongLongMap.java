@@ -0,0 +1,131 @@
+package com.polaris.cobbletip.util;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressed map from primitive long keys to primitive long values (e.g. packed block positions to
+ * expiry times). Linear probing with backward-shift deletion; a zero value marks an empty slot, so zero
+ * values are not allowed. Nothing is boxed and lookups never allocate. Not thread-safe.
+ */
+public final class LongLongMap {
+    private long[] keys;
+    private long[] values;
+    private int mask;
+    private int size;
+
+    public LongLongMap() {
+        this(16);
+    }
+
+    public LongLongMap(int expected) {
+        int cap = UuidSet.tableSizeFor(Math.max(8, expected * 2));
+        this.keys = new long[cap];
+        this.values = new long[cap];
+        this.mask = cap - 1;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /** @return the value, or 0 if absent */
+    public long get(long key) {
+        long[] k = keys;
+        long[] v = values;
+        int m = mask;
+        int i = LongObjectMap.mix(key) & m;
+        while (true) {
+            long o = v[i];
+            if (o == 0) return 0;
+            if (k[i] == key) return o;
+            i = (i + 1) & m;
+        }
+    }
+
+    /** @return the previous value, or 0 */
+    public long put(long key, long value) {
+        if (value == 0) throw new IllegalArgumentException("value must be non-zero");
+        if ((size + 1) * 2 > mask + 1) rehash((mask + 1) << 1);
+        long[] k = keys;
+        long[] v = values;
+        int m = mask;
+        int i = LongObjectMap.mix(key) & m;
+        while (true) {
+            long o = v[i];
+            if (o == 0) {
+                k[i] = key;
+                v[i] = value;
+                size++;
+                return 0;
+            }
+            if (k[i] == key) {
+                v[i] = value;
+                return o;
+            }
+            i = (i + 1) & m;
+        }
+    }
+
+    /** @return the removed value, or 0 */
+    public long remove(long key) {
+        long[] k = keys;
+        long[] v = values;
+        int m = mask;
+        int i = LongObjectMap.mix(key) & m;
+        while (true) {
+            long o = v[i];
+            if (o == 0) return 0;
+            if (k[i] == key) {
+                removeAt(i);
+                size--;
+                return o;
+            }
+            i = (i + 1) & m;
+        }
+    }
+
+    public void clear() {
+        Arrays.fill(values, 0L);
+        size = 0;
+    }
+
+    private void removeAt(int hole) {
+        long[] k = keys;
+        long[] v = values;
+        int m = mask;
+        int j = hole;
+        while (true) {
+            j = (j + 1) & m;
+            long o = v[j];
+            if (o == 0) break;
+            int home = LongObjectMap.mix(k[j]) & m;
+            // Leave the entry where it is if its home slot lies cyclically in (hole, j].
+            boolean stays = hole <= j ? (hole < home && home <= j) : (hole < home || home <= j);
+            if (stays) continue;
+            k[hole] = k[j];
+            v[hole] = o;
+            hole = j;
+        }
+        v[hole] = 0;
+    }
+
+    private void rehash(int newCap) {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        keys = new long[newCap];
+        values = new long[newCap];
+        mask = newCap - 1;
+        for (int i = 0; i < oldValues.length; i++) {
+            long o = oldValues[i];
+            if (o == 0) continue;
+            int j = LongObjectMap.mix(oldKeys[i]) & mask;
+            while (values[j] != 0) j = (j + 1) & mask;
+            keys[j] = oldKeys[i];
+            values[j] = o;
+        }
+    }
+}
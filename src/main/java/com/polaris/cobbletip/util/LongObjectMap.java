@@ -0,0 +1,141 @@
+package com.polaris.cobbletip.util;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressed map from primitive long keys to objects (e.g. packed chunk coordinates).
+ * Linear probing with backward-shift deletion; a null value marks an empty slot, so null values
+ * are not allowed. {@link #get(long)} never allocates. Not thread-safe.
+ */
+public final class LongObjectMap<V> {
+    private long[] keys;
+    private Object[] values;
+    private int mask;
+    private int size;
+
+    public LongObjectMap() {
+        this(16);
+    }
+
+    public LongObjectMap(int expected) {
+        int cap = UuidSet.tableSizeFor(Math.max(8, expected * 2));
+        this.keys = new long[cap];
+        this.values = new Object[cap];
+        this.mask = cap - 1;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        long[] k = keys;
+        Object[] v = values;
+        int m = mask;
+        int i = mix(key) & m;
+        while (true) {
+            Object o = v[i];
+            if (o == null) return null;
+            if (k[i] == key) return (V) o;
+            i = (i + 1) & m;
+        }
+    }
+
+    /** @return the previous value, or null */
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value) {
+        if (value == null) throw new NullPointerException("value");
+        if ((size + 1) * 2 > mask + 1) rehash((mask + 1) << 1);
+        long[] k = keys;
+        Object[] v = values;
+        int m = mask;
+        int i = mix(key) & m;
+        while (true) {
+            Object o = v[i];
+            if (o == null) {
+                k[i] = key;
+                v[i] = value;
+                size++;
+                return null;
+            }
+            if (k[i] == key) {
+                v[i] = value;
+                return (V) o;
+            }
+            i = (i + 1) & m;
+        }
+    }
+
+    /** @return the removed value, or null */
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        long[] k = keys;
+        Object[] v = values;
+        int m = mask;
+        int i = mix(key) & m;
+        while (true) {
+            Object o = v[i];
+            if (o == null) return null;
+            if (k[i] == key) {
+                removeAt(i);
+                size--;
+                return (V) o;
+            }
+            i = (i + 1) & m;
+        }
+    }
+
+    public void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    private void removeAt(int hole) {
+        long[] k = keys;
+        Object[] v = values;
+        int m = mask;
+        int j = hole;
+        while (true) {
+            j = (j + 1) & m;
+            Object o = v[j];
+            if (o == null) break;
+            int home = mix(k[j]) & m;
+            // Leave the entry where it is if its home slot lies cyclically in (hole, j].
+            boolean stays = hole <= j ? (hole < home && home <= j) : (hole < home || home <= j);
+            if (stays) continue;
+            k[hole] = k[j];
+            v[hole] = o;
+            hole = j;
+        }
+        v[hole] = null;
+    }
+
+    private void rehash(int newCap) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        keys = new long[newCap];
+        values = new Object[newCap];
+        mask = newCap - 1;
+        for (int i = 0; i < oldValues.length; i++) {
+            Object o = oldValues[i];
+            if (o == null) continue;
+            int j = mix(oldKeys[i]) & mask;
+            while (values[j] != null) j = (j + 1) & mask;
+            keys[j] = oldKeys[i];
+            values[j] = o;
+        }
+    }
+
+    static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+}
@@ -0,0 +1,128 @@
+package com.polaris.cobbletip.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A configured message compiled once at reload into literal/placeholder segments.
+ * <p>
+ * {prefix} is substituted and color codes are translated at compile time, so rendering is a single
+ * pass over the segments into a reused builder. Values get their {@code &} codes translated on insertion, as
+ * the old {@code Msg.color(Msg.apply(...))} chain did; values without an {@code &} are copied as-is.
+ * Placeholders that are not in the template are never looked at; placeholders without a value are
+ * left in the output verbatim, like the old chained {@code String.replace}.
+ */
+public final class MsgTemplate {
+    private static final ThreadLocal<StringBuilder> BUILDER = ThreadLocal.withInitial(() -> new StringBuilder(256));
+
+    public static final MsgTemplate EMPTY = new MsgTemplate("", new String[] {""}, new String[0]);
+
+    private final String source;
+    // literals.length == names.length + 1: literal[0] {names[0]} literal[1] ... literal[n]
+    private final String[] literals;
+    private final String[] names;
+    private final int literalLength;
+
+    private MsgTemplate(String source, String[] literals, String[] names) {
+        this.source = source;
+        this.literals = literals;
+        this.names = names;
+        int len = 0;
+        for (String l : literals) len += l.length();
+        this.literalLength = len;
+    }
+
+    public static MsgTemplate compile(String raw, String coloredPrefix) {
+        if (raw == null || raw.isEmpty()) return EMPTY;
+        String colored = Msg.color(raw.replace("{prefix}", coloredPrefix == null ? "" : coloredPrefix));
+
+        List<String> literals = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        StringBuilder lit = new StringBuilder(colored.length());
+        int n = colored.length();
+        int i = 0;
+        while (i < n) {
+            char c = colored.charAt(i);
+            if (c == '{') {
+                int close = placeholderEnd(colored, i + 1);
+                if (close > i + 1) {
+                    literals.add(lit.toString());
+                    lit.setLength(0);
+                    names.add(colored.substring(i + 1, close));
+                    i = close + 1;
+                    continue;
+                }
+            }
+            lit.append(c);
+            i++;
+        }
+        literals.add(lit.toString());
+        return new MsgTemplate(colored, literals.toArray(new String[0]), names.toArray(new String[0]));
+    }
+
+    private static int placeholderEnd(String s, int from) {
+        for (int j = from; j < s.length(); j++) {
+            char c = s.charAt(j);
+            if (c == '}') return j;
+            if (!(Character.isLetterOrDigit(c) || c == '_')) return -1;
+        }
+        return -1;
+    }
+
+    /** The colored template text, placeholders included. */
+    public String source() {
+        return source;
+    }
+
+    public boolean isEmpty() {
+        return source.isEmpty();
+    }
+
+    public boolean isBlank() {
+        return source.isBlank();
+    }
+
+    /** Placeholder count; the template is literal(0) placeholder(0) literal(1) ... literal(count). */
+    public int placeholderCount() {
+        return names.length;
+    }
+
+    public String literal(int i) {
+        return literals[i];
+    }
+
+    public String placeholder(int i) {
+        return names[i];
+    }
+
+    /**
+     * @param kv alternating placeholder names and values
+     */
+    public String render(String... kv) {
+        if (names.length == 0) return source;
+        StringBuilder sb = BUILDER.get();
+        sb.setLength(0);
+        sb.ensureCapacity(literalLength + names.length * 16);
+        sb.append(literals[0]);
+        for (int i = 0; i < names.length; i++) {
+            String value = lookup(names[i], kv);
+            if (value != null) sb.append(colorValue(value));
+            else sb.append('{').append(names[i]).append('}');
+            sb.append(literals[i + 1]);
+        }
+        return sb.toString();
+    }
+
+    /** Translates {@code &} codes in a placeholder value (a Multiverse alias, a configured part, ...). */
+    static String colorValue(String value) {
+        return value.indexOf('&') < 0 ? value : Msg.color(value);
+    }
+
+    static String lookup(String name, String[] kv) {
+        for (int k = 0; k + 1 < kv.length; k += 2) {
+            String key = kv[k];
+            if (key == name || name.equals(key)) return kv[k + 1];
+        }
+        return null;
+    }
+}
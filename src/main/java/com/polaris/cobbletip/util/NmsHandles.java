@@ -0,0 +1,52 @@
+package com.polaris.cobbletip.util;
+
+import org.bukkit.entity.Entity;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.Optional;
+
+/**
+ * CraftBukkit entity -> NMS handle, with {@code getHandle()} resolved once per CraftEntity class and
+ * cached as a MethodHandle in a {@link ClassValue}.
+ */
+public final class NmsHandles {
+    private NmsHandles() {}
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodType GETTER = MethodType.methodType(Object.class, Object.class);
+
+    // CraftEntity class -> getHandle()
+    private static final ClassValue<Optional<MethodHandle>> GET_HANDLE = new ClassValue<>() {
+        @Override
+        protected Optional<MethodHandle> computeValue(Class<?> type) {
+            try {
+                Method m = type.getMethod("getHandle");
+                if (m.getParameterCount() != 0) return Optional.empty();
+                m.setAccessible(true);
+                return Optional.of(LOOKUP.unreflect(m).asType(GETTER));
+            } catch (Throwable ignored) {
+                return Optional.empty();
+            }
+        }
+    };
+
+    /** Resolves {@code getHandle()} for a CraftEntity class ahead of its first instance. */
+    public static void preload(Class<?> craftEntityType) {
+        GET_HANDLE.get(craftEntityType);
+    }
+
+    /** @return the NMS handle of a Bukkit entity, or null */
+    public static Object handle(Entity bukkitEntity) {
+        if (bukkitEntity == null) return null;
+        MethodHandle mh = GET_HANDLE.get(bukkitEntity.getClass()).orElse(null);
+        if (mh == null) return null;
+        try {
+            return (Object) mh.invokeExact((Object) bukkitEntity);
+        } catch (Throwable ignored) {
+            return null;
+        }
+    }
+}
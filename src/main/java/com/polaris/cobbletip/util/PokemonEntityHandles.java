@@ -0,0 +1,162 @@
+package com.polaris.cobbletip.util;
+
+import org.bukkit.entity.Entity;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Reflection bridge to Cobblemon's PokemonEntity, resolved once per runtime class.
+ * Lookups are cached as MethodHandles in {@link ClassValue}s; classes that are not Cobblemon
+ * entities resolve to an empty entry, so repeated calls on them are a single cache read.
+ */
+public final class PokemonEntityHandles {
+    private PokemonEntityHandles() {}
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodType GETTER = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER = MethodType.methodType(void.class, Object.class, Object.class, Object.class);
+    private static final String POKEMON_ENTITY = "com.cobblemon.mod.common.entity.pokemon.PokemonEntity";
+    private static final String POKEMON = "com.cobblemon.mod.common.pokemon.Pokemon";
+
+    private record NmsEntity(MethodHandle getPokemon, MethodHandle getEntityData, Object unbattleable, MethodHandle setData) {
+        static final NmsEntity MISSING = new NmsEntity(null, null, null, null);
+    }
+
+    // NMS entity class -> PokemonEntity members
+    private static final ClassValue<NmsEntity> NMS_ENTITY = new ClassValue<>() {
+        @Override
+        protected NmsEntity computeValue(Class<?> type) {
+            return resolveNmsEntity(type);
+        }
+    };
+
+    // CraftEntity class -> whether its getHandle() type admits a PokemonEntity (CraftZombie's does not)
+    private static final ClassValue<Boolean> MAY_BE_POKEMON = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            try {
+                Class<?> handleType = type.getMethod("getHandle").getReturnType();
+                Class<?> pokemonEntity = Class.forName(POKEMON_ENTITY, false, handleType.getClassLoader());
+                return handleType.isAssignableFrom(pokemonEntity);
+            } catch (Throwable ignored) {
+                // can't tell from the class; let the handle lookup decide
+                return Boolean.TRUE;
+            }
+        }
+    };
+
+    // Pokemon class -> getUuid()
+    private static final ClassValue<Optional<MethodHandle>> GET_UUID = new ClassValue<>() {
+        @Override
+        protected Optional<MethodHandle> computeValue(Class<?> type) {
+            return Optional.ofNullable(getter(type, "getUuid"));
+        }
+    };
+
+    /**
+     * Resolves the PokemonEntity and Pokemon handles ahead of the first spawn (warm-up thread).
+     * Classes the loader cannot see are skipped and resolve on first use as before.
+     */
+    public static void preload(ClassLoader loader) {
+        try { NMS_ENTITY.get(Class.forName(POKEMON_ENTITY, false, loader)); } catch (Throwable ignored) {}
+        try { GET_UUID.get(Class.forName(POKEMON, false, loader)); } catch (Throwable ignored) {}
+    }
+
+    /**
+     * Class-only pre-check: false when the Bukkit entity's class can never wrap a PokemonEntity, so callers
+     * can skip {@link #pokemonUuid} for vanilla mobs. True does not mean it is one.
+     */
+    public static boolean mayBePokemonEntity(Entity bukkitEntity) {
+        return bukkitEntity != null && MAY_BE_POKEMON.get(bukkitEntity.getClass());
+    }
+
+    /** @return true if the entity is backed by a Cobblemon PokemonEntity */
+    public static boolean isPokemonEntity(Entity bukkitEntity) {
+        Object handle = NmsHandles.handle(bukkitEntity);
+        return handle != null && NMS_ENTITY.get(handle.getClass()).getPokemon() != null;
+    }
+
+    /** @return the Cobblemon Pokemon UUID behind a PokemonEntity, or null */
+    public static UUID pokemonUuid(Entity bukkitEntity) {
+        Object handle = NmsHandles.handle(bukkitEntity);
+        if (handle == null) return null;
+        MethodHandle getPokemon = NMS_ENTITY.get(handle.getClass()).getPokemon();
+        if (getPokemon == null) return null;
+        try {
+            Object pokemon = (Object) getPokemon.invokeExact(handle);
+            if (pokemon == null) return null;
+            MethodHandle getUuid = GET_UUID.get(pokemon.getClass()).orElse(null);
+            if (getUuid == null) return null;
+            Object pu = (Object) getUuid.invokeExact(pokemon);
+            return pu instanceof UUID id ? id : null;
+        } catch (Throwable ignored) {
+            return null;
+        }
+    }
+
+    /**
+     * Sets Cobblemon's server-side UNBATTLEABLE entity-data flag.
+     * @return true if the flag was written
+     */
+    public static boolean setUnbattleable(Entity bukkitEntity, boolean on) {
+        Object handle = NmsHandles.handle(bukkitEntity);
+        if (handle == null) return false;
+        NmsEntity nms = NMS_ENTITY.get(handle.getClass());
+        if (nms.setData() == null) return false;
+        try {
+            Object entityData = (Object) nms.getEntityData().invokeExact(handle);
+            if (entityData == null) return false;
+            nms.setData().invokeExact(entityData, nms.unbattleable(), (Object) on);
+            return true;
+        } catch (Throwable ignored) {
+            return false;
+        }
+    }
+
+    private static NmsEntity resolveNmsEntity(Class<?> handleClass) {
+        MethodHandle getPokemon = getter(handleClass, "getPokemon");
+        if (getPokemon == null) return NmsEntity.MISSING;
+
+        MethodHandle getEntityData = null;
+        Object accessor = null;
+        MethodHandle setData = null;
+        try {
+            Method dataGetter = handleClass.getMethod("getEntityData");
+            accessor = handleClass.getField("UNBATTLEABLE").get(null);
+            if (accessor != null) {
+                for (Method m : dataGetter.getReturnType().getMethods()) {
+                    if (!m.getName().equals("set")) continue;
+                    if (m.getParameterCount() != 2) continue;
+                    if (!m.getParameterTypes()[0].isInstance(accessor)) continue;
+                    m.setAccessible(true);
+                    setData = LOOKUP.unreflect(m).asType(SETTER);
+                    break;
+                }
+            }
+            if (setData != null) {
+                dataGetter.setAccessible(true);
+                getEntityData = LOOKUP.unreflect(dataGetter).asType(GETTER);
+            }
+        } catch (Throwable ignored) {
+            setData = null;
+        }
+        if (getEntityData == null) setData = null;
+        return new NmsEntity(getPokemon, getEntityData, accessor, setData);
+    }
+
+    private static MethodHandle getter(Class<?> type, String name) {
+        try {
+            Method m = type.getMethod(name);
+            if (m.getParameterCount() != 0) return null;
+            m.setAccessible(true);
+            return LOOKUP.unreflect(m).asType(GETTER);
+        } catch (Throwable ignored) {
+            return null;
+        }
+    }
+}
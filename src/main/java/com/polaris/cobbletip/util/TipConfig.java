@@ -3,111 +3,331 @@ package com.polaris.cobbletip.util;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.plugin.Plugin;
 
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Set;
-import java.util.stream.Collectors;
 
+/**
+ * Immutable snapshot of config.yml, compiled once per reload.
+ * Hot paths (damage/interact listeners, message rendering) only read final fields;
+ * a reload builds a new instance and the plugin swaps the reference.
+ */
 public final class TipConfig {
     private final Plugin plugin;
-    private final FileConfiguration c;
+
+    private final boolean debug;
+
+    // announce
+    private final boolean announceEnabled;
+    private final Set<String> announceSources;
+    private final Set<String> announceOnlyLabels;
+    private final Set<String> forceSpecies;
+    private final Set<String> blockSpecies;
+    private final int announceQueueCapacity;
+    private final boolean burstEnabled;
+    private final int burstTokens;
+    private final long burstRefillSeconds;
+    private final long burstWindowTicks;
+    private final int burstMaxDigestEntries;
+    private final String announceAudienceMode;
+    private final int announceAudienceRadiusChunks;
+    private final int historySize;
+    private final long historyTtlSeconds;
+    private final boolean historyReplayOnJoin;
+    private final String localeDefault;
+    private final boolean localePerPlayer;
+
+    // protection
+    private final boolean protectEnabled;
+    private final long protectDurationSeconds;
+    private final boolean denyAttack;
+    private final boolean denyInteract;
+    private final boolean denyFish;
+    private final long protectMsgCooldownMs;
+
+    // teleport
+    private final boolean tpEnabled;
+    private final int tpCooldownSeconds;
+    private final boolean tpRequirePerm;
+    private final boolean tpTrackedOnly;
+    private final boolean tpEcoEnabled;
+    private final double tpEcoCost;
+
+    // party
+    private final boolean partyEnabled;
+    private final boolean partyRequireSneak;
+    private final int partySize;
+
+    // messages, compiled into templates ({prefix} substituted, color codes translated)
+    private final String msgPrefix;
+    private final List<MsgTemplate> msgAnnounceLines;
+    private final String msgClickText;
+    private final MsgTemplate msgClickLine;
+    private final MsgTemplate msgClickHover;
+    // announce/click/hover lines pre-parsed into chat components; events bound to {species} / clickText
+    private final List<ComponentTemplate> announceComponents;
+    private final ComponentTemplate clickLineComponents;
+    private final ComponentTemplate clickHoverComponents;
+    private final MsgTemplate msgDigestHeader;
+    private final MsgTemplate msgDigestEntry;
+    private final ComponentTemplate digestHeaderComponents;
+    private final ComponentTemplate digestEntryComponents;
+    private final MsgTemplate msgProtectDeniedAttack;
+    private final MsgTemplate msgProtectDeniedInteract;
+    private final MsgTemplate msgProtectDeniedFish;
+    private final MsgTemplate msgProtectExpired;
+    private final MsgTemplate msgTeleportDisabled;
+    private final MsgTemplate msgTeleportSuccess;
+    private final MsgTemplate msgTeleportPending;
+    private final MsgTemplate msgTeleportBusy;
+    private final MsgTemplate msgTeleportCooldown;
+    private final MsgTemplate msgTeleportNoMoney;
+    private final MsgTemplate msgPartyViewTitle;
+    private final MsgTemplate msgPartyViewFailed;
+    private final MsgTemplate msgPartyViewEmpty;
+    private final MsgTemplate msgNoPermission;
+    private final MsgTemplate msgReloaded;
+    private final MsgTemplate msgEntityNotFound;
+    private final MsgTemplate msgNotTracked;
+    private final MsgTemplate msgAnnounceOn;
+    private final MsgTemplate msgAnnounceOff;
+    private final MsgTemplate msgRecentHeader;
+    private final MsgTemplate msgRecentEmpty;
+    private final MsgTemplate msgPlayerOnly;
+    private final MsgTemplate msgStatsProtection;
+    private final MsgTemplate msgStatsShortCircuit;
+    private final MsgTemplate msgStatsTeleportTargets;
+    private final MsgTemplate msgStatsDispatch;
+    private final MsgTemplate msgStatsPipeline;
+    private final MsgTemplate msgStatsThrottle;
+    private final MsgTemplate msgStatsAudience;
+    private final MsgTemplate msgStatsLocales;
+    private final MsgTemplate msgStatsPlayerState;
 
     public TipConfig(Plugin plugin) {
         this.plugin = plugin;
-        this.c = plugin.getConfig();
+        FileConfiguration c = plugin.getConfig();
+
+        this.debug = c.getBoolean("debug", false);
+
+        this.announceEnabled = c.getBoolean("announce.enabled", true);
+        this.announceSources = compileSet(c.getStringList("announce.sources"), true);
+        this.announceOnlyLabels = compileSet(c.getStringList("announce.onlyLabels"), false);
+        this.forceSpecies = compileSet(c.getStringList("announce.forceSpecies"), false);
+        this.blockSpecies = compileSet(c.getStringList("announce.blockSpecies"), false);
+        this.announceQueueCapacity = Math.max(1, c.getInt("announce.pipeline.queueCapacity", 64));
+        this.burstEnabled = c.getBoolean("announce.burst.enabled", true);
+        this.burstTokens = Math.max(1, c.getInt("announce.burst.tokens", 3));
+        this.burstRefillSeconds = Math.max(0, c.getLong("announce.burst.refillSeconds", 10));
+        this.burstWindowTicks = Math.max(1, c.getLong("announce.burst.windowTicks", 40));
+        this.burstMaxDigestEntries = Math.max(1, c.getInt("announce.burst.maxDigestEntries", 10));
+        this.announceAudienceMode = c.getString("announce.audience.mode", "ALL");
+        this.announceAudienceRadiusChunks = Math.max(0, c.getInt("announce.audience.radiusChunks", 32));
+        this.historySize = Math.max(1, c.getInt("announce.history.size", 10));
+        this.historyTtlSeconds = Math.max(0, c.getLong("announce.history.ttlSeconds", 600));
+        this.historyReplayOnJoin = c.getBoolean("announce.history.replayOnJoin", true);
+        this.localeDefault = c.getString("announce.locale.default", "zh_cn");
+        this.localePerPlayer = c.getBoolean("announce.locale.perPlayer", true);
+
+        this.protectEnabled = c.getBoolean("protection.enabled", true);
+        this.protectDurationSeconds = c.getLong("protection.durationSeconds", 600);
+        this.denyAttack = c.getBoolean("protection.deny.attack", true);
+        this.denyInteract = c.getBoolean("protection.deny.interact", true);
+        this.denyFish = c.getBoolean("protection.deny.fish", true);
+        this.protectMsgCooldownMs = c.getLong("protection.messageCooldownMs", 1200);
+
+        this.tpEnabled = c.getBoolean("teleport.enabled", true);
+        this.tpCooldownSeconds = c.getInt("teleport.cooldownSeconds", 3);
+        this.tpRequirePerm = c.getBoolean("teleport.requirePermission", true);
+        this.tpTrackedOnly = c.getBoolean("teleport.trackedOnly", true);
+        this.tpEcoEnabled = c.getBoolean("teleport.economy.enabled", true);
+        this.tpEcoCost = c.getDouble("teleport.economy.cost", 100.0);
+
+        this.partyEnabled = c.getBoolean("partyView.enabled", true);
+        this.partyRequireSneak = c.getBoolean("partyView.requireSneak", true);
+        this.partySize = c.getInt("partyView.size", 54);
+
+        this.msgPrefix = Msg.color(c.getString("messages.prefix", "&7[&aCobbleTip&7] "));
+        this.msgAnnounceLines = c.getStringList("messages.announce").stream().map(this::compileMsg).toList();
+        this.msgClickText = Msg.color(c.getString("messages.clickText", "&a[点我]"));
+        this.msgClickLine = compileMsg(c.getString("messages.clickLine", "{prefix}&a[点我]"));
+        this.msgClickHover = compileMsg(c.getString("messages.clickHover", ""));
+        this.announceComponents = msgAnnounceLines.stream().map(t -> ComponentTemplate.bindSlot(t, "species")).toList();
+        this.clickLineComponents = ComponentTemplate.bindText(msgClickLine, msgClickText);
+        this.clickHoverComponents = ComponentTemplate.plain(msgClickHover);
+        this.msgDigestHeader = compileMsg(c.getString("messages.digestHeader", "{prefix}&6{world} &e短时间内出现了 &f{count} &e只宝可梦："));
+        this.msgDigestEntry = compileMsg(c.getString("messages.digestEntry", "&7- &e{species}{sourcePart} &7(&f{x}&7,&f{y}&7,&f{z}&7) &a[点击传送]"));
+        this.digestHeaderComponents = ComponentTemplate.plain(msgDigestHeader);
+        this.digestEntryComponents = ComponentTemplate.bindText(msgDigestEntry, msgClickText);
+        this.msgProtectDeniedAttack = compileMsg(c.getString("messages.protectDeniedAttack", "{prefix}&c该宝可梦处于保护中，无法攻击。"));
+        this.msgProtectDeniedInteract = compileMsg(c.getString("messages.protectDeniedInteract", "{prefix}&c该宝可梦处于保护中，无法交互。"));
+        this.msgProtectDeniedFish = compileMsg(c.getString("messages.protectDeniedFish", "{prefix}&c该宝可梦处于保护中，无法钓起。"));
+        this.msgProtectExpired = compileMsg(c.getString("messages.protectExpired", "{prefix}&a{species} 的保护已解除。"));
+        this.msgTeleportDisabled = compileMsg(c.getString("messages.teleportDisabled", "{prefix}&c传送功能已关闭。"));
+        this.msgTeleportSuccess = compileMsg(c.getString("messages.teleportSuccess", "{prefix}&a已传送。"));
+        this.msgTeleportPending = compileMsg(c.getString("messages.teleportPending", "{prefix}&7正在加载目标区域，请稍候..."));
+        this.msgTeleportBusy = compileMsg(c.getString("messages.teleportBusy", "{prefix}&e上一次传送尚未完成，请稍后再试。"));
+        this.msgTeleportCooldown = compileMsg(c.getString("messages.teleportCooldown", "{prefix}&e请等待 &f{seconds}&es 后再传送。"));
+        this.msgTeleportNoMoney = compileMsg(c.getString("messages.teleportNoMoney", "{prefix}&c余额不足，需要 &f{cost}&c。"));
+        this.msgPartyViewTitle = compileMsg(c.getString("messages.partyViewTitle", "{prefix}&a{player} 的队伍"));
+        this.msgPartyViewFailed = compileMsg(c.getString("messages.partyViewFailed", "{prefix}&c无法获取该玩家的队伍。"));
+        this.msgPartyViewEmpty = compileMsg(c.getString("messages.partyViewEmpty", "{prefix}&e该玩家队伍为空或未加载。"));
+        this.msgNoPermission = compileMsg(c.getString("messages.noPermission", "{prefix}&c你没有权限。"));
+        this.msgReloaded = compileMsg(c.getString("messages.reloaded", "{prefix}&a配置已重载。"));
+        this.msgEntityNotFound = compileMsg(c.getString("messages.entityNotFound", "{prefix}&c目标已消失。"));
+        this.msgNotTracked = compileMsg(c.getString("messages.notTracked", "{prefix}&c该目标已过期或未记录。"));
+        this.msgAnnounceOn = compileMsg(c.getString("messages.announceOn", "{prefix}&a已开启宝可梦公告。"));
+        this.msgAnnounceOff = compileMsg(c.getString("messages.announceOff", "{prefix}&e已关闭宝可梦公告。"));
+        this.msgRecentHeader = compileMsg(c.getString("messages.recentHeader", "{prefix}&7最近的宝可梦公告 (&f{count}&7)："));
+        this.msgRecentEmpty = compileMsg(c.getString("messages.recentEmpty", "{prefix}&7暂无最近的公告。"));
+        this.msgPlayerOnly = compileMsg(c.getString("messages.playerOnly", "{prefix}&c该命令只能由玩家执行。"));
+        this.msgStatsProtection = compileMsg(c.getString("messages.statsProtection", "{prefix}&7保护实体: &f{entities} &7保护宝可梦: &f{pokemon}"));
+        this.msgStatsShortCircuit = compileMsg(c.getString("messages.statsShortCircuit", "{prefix}&7伤害事件快速跳过: &f{count}"));
+        this.msgStatsTeleportTargets = compileMsg(c.getString("messages.statsTeleportTargets", "{prefix}&7可传送坐标: &f{count}"));
+        this.msgStatsDispatch = compileMsg(c.getString("messages.statsDispatch", "{prefix}&7公告发送: &f{path} &7(packet {packet} / bukkit {bukkit})"));
+        this.msgStatsPipeline = compileMsg(c.getString("messages.statsPipeline", "{prefix}&7公告队列: &f{queued} &7丢弃: &f{dropped} &7渲染失败: &f{failed}"));
+        this.msgStatsThrottle = compileMsg(c.getString("messages.statsThrottle", "{prefix}&7爆发合并: &f{coalesced} &7超出汇总上限: &f{overflow}"));
+        this.msgStatsAudience = compileMsg(c.getString("messages.statsAudience", "{prefix}&7公告范围: &f{mode} &7接收玩家: &f{players}"));
+        this.msgStatsLocales = compileMsg(c.getString("messages.statsLocales", "{prefix}&7客户端语言: &f{clients} &7已加载语言文件: &f{loaded} &7(默认 {default})"));
+        this.msgStatsPlayerState = compileMsg(c.getString("messages.statsPlayerState", "{prefix}&7玩家状态 {name}: &f{size}"));
     }
 
-    public boolean debug() { return c.getBoolean("debug", false); }
-
-    // announce
-    public boolean announceEnabled() { return c.getBoolean("announce.enabled", true); }
-    public Set<String> announceSources() {
-        return c.getStringList("announce.sources").stream().map(String::toUpperCase).collect(Collectors.toSet());
+    private MsgTemplate compileMsg(String raw) {
+        return MsgTemplate.compile(raw, msgPrefix);
     }
-    public Set<String> announceOnlyLabels() {
-        return c.getStringList("announce.onlyLabels").stream()
-                .map(s -> s == null ? "" : s.trim().toLowerCase(Locale.ROOT))
-                .filter(s -> !s.isBlank())
-                .collect(Collectors.toSet());
+
+    private static Set<String> compileSet(List<String> list, boolean upper) {
+        if (list == null || list.isEmpty()) return Set.of();
+        Set<String> out = new HashSet<>(list.size() * 2);
+        for (String s : list) {
+            if (s == null) continue;
+            String v = s.trim();
+            if (v.isEmpty()) continue;
+            out.add(upper ? v.toUpperCase(Locale.ROOT) : v.toLowerCase(Locale.ROOT));
+        }
+        return Collections.unmodifiableSet(out);
     }
+
+    public boolean debug() { return debug; }
+
+    // announce
+    public boolean announceEnabled() { return announceEnabled; }
+    public Set<String> announceSources() { return announceSources; }
+    public Set<String> announceOnlyLabels() { return announceOnlyLabels; }
+    public int announceQueueCapacity() { return announceQueueCapacity; }
+    public boolean burstEnabled() { return burstEnabled; }
+    public int burstTokens() { return burstTokens; }
+    public long burstRefillSeconds() { return burstRefillSeconds; }
+    public long burstWindowTicks() { return burstWindowTicks; }
+    public int burstMaxDigestEntries() { return burstMaxDigestEntries; }
+    public String announceAudienceMode() { return announceAudienceMode; }
+    public int announceAudienceRadiusChunks() { return announceAudienceRadiusChunks; }
+    public int historySize() { return historySize; }
+    public long historyTtlSeconds() { return historyTtlSeconds; }
+    public boolean historyReplayOnJoin() { return historyReplayOnJoin; }
+    public String localeDefault() { return localeDefault; }
+    public boolean localePerPlayer() { return localePerPlayer; }
     public boolean shouldAnnounceSource(Object spawnSourceEnumOrNull) {
         if (spawnSourceEnumOrNull == null) return false;
-        return announceSources().contains(spawnSourceEnumOrNull.toString().toUpperCase());
+        // Enum constant names are already upper-case; only fall back to case folding for odd sources.
+        String name = spawnSourceEnumOrNull.toString();
+        return announceSources.contains(name) || announceSources.contains(name.toUpperCase(Locale.ROOT));
     }
     public boolean shouldAnnounceLabels(Set<String> labelsOrNull) {
-        Set<String> only = announceOnlyLabels();
+        Set<String> only = announceOnlyLabels;
         if (only.isEmpty()) return true;
         if (labelsOrNull == null || labelsOrNull.isEmpty()) return false;
         for (String l : labelsOrNull) {
             if (l == null) continue;
-            if (only.contains(l.trim().toLowerCase(Locale.ROOT))) return true;
+            if (only.contains(l) || only.contains(l.trim().toLowerCase(Locale.ROOT))) return true;
         }
         return false;
     }
-    public boolean isForceSpecies(String species) { return matchSpeciesList("announce.forceSpecies", species); }
-    public boolean isBlockedSpecies(String species) { return matchSpeciesList("announce.blockSpecies", species); }
+    public boolean isForceSpecies(String species) { return matchSpeciesSet(forceSpecies, species); }
+    public boolean isBlockedSpecies(String species) { return matchSpeciesSet(blockSpecies, species); }
 
-    private boolean matchSpeciesList(String path, String species) {
-        if (species == null) return false;
-        List<String> list = c.getStringList(path);
-        if (list == null || list.isEmpty()) return false;
-        if (list.contains(species)) return true;
+    private static boolean matchSpeciesSet(Set<String> set, String species) {
+        if (species == null || set.isEmpty()) return false;
+        String id = species.toLowerCase(Locale.ROOT);
+        if (set.contains(id)) return true;
 
         // Back-compat / convenience: allow entries without namespace (mewtwo) to match cobblemon:mewtwo
-        String shortName = species;
-        int colon = shortName.indexOf(':');
-        if (colon >= 0 && colon + 1 < shortName.length()) shortName = shortName.substring(colon + 1);
-        for (String s : list) {
-            if (s == null) continue;
-            if (s.equals(shortName)) return true;
-        }
-        return false;
+        int colon = id.indexOf(':');
+        return colon >= 0 && colon + 1 < id.length() && set.contains(id.substring(colon + 1));
     }
 
-    public List<String> msgAnnounceLines() { return c.getStringList("messages.announce"); }
-    public String msgClickText() { return c.getString("messages.clickText", "&a[点我]"); }
-    public String msgClickLine() { return c.getString("messages.clickLine", "{prefix}&a[点我]"); }
-    public String msgClickHover() { return c.getString("messages.clickHover", ""); }
+    public List<MsgTemplate> msgAnnounceLines() { return msgAnnounceLines; }
+    public String msgClickText() { return msgClickText; }
+    public MsgTemplate msgClickLine() { return msgClickLine; }
+    public MsgTemplate msgClickHover() { return msgClickHover; }
+    public List<ComponentTemplate> announceComponents() { return announceComponents; }
+    public ComponentTemplate clickLineComponents() { return clickLineComponents; }
+    public ComponentTemplate clickHoverComponents() { return clickHoverComponents; }
+    public MsgTemplate msgDigestHeader() { return msgDigestHeader; }
+    public MsgTemplate msgDigestEntry() { return msgDigestEntry; }
+    public ComponentTemplate digestHeaderComponents() { return digestHeaderComponents; }
+    public ComponentTemplate digestEntryComponents() { return digestEntryComponents; }
 
     // protection
-    public boolean protectEnabled() { return c.getBoolean("protection.enabled", true); }
-    public long protectDurationSeconds() { return c.getLong("protection.durationSeconds", 600); }
-    public boolean denyAttack() { return c.getBoolean("protection.deny.attack", true); }
-    public boolean denyInteract() { return c.getBoolean("protection.deny.interact", true); }
-    public boolean denyFish() { return c.getBoolean("protection.deny.fish", true); }
-    public long protectMsgCooldownMs() { return c.getLong("protection.messageCooldownMs", 1200); }
+    public boolean protectEnabled() { return protectEnabled; }
+    public long protectDurationSeconds() { return protectDurationSeconds; }
+    public boolean denyAttack() { return denyAttack; }
+    public boolean denyInteract() { return denyInteract; }
+    public boolean denyFish() { return denyFish; }
+    public long protectMsgCooldownMs() { return protectMsgCooldownMs; }
 
-    public String msgProtectDeniedAttack() { return c.getString("messages.protectDeniedAttack", "{prefix}&c该宝可梦处于保护中，无法攻击。"); }
-    public String msgProtectDeniedInteract() { return c.getString("messages.protectDeniedInteract", "{prefix}&c该宝可梦处于保护中，无法交互。"); }
-    public String msgProtectDeniedFish() { return c.getString("messages.protectDeniedFish", "{prefix}&c该宝可梦处于保护中，无法钓起。"); }
-    public String msgProtectExpired() { return c.getString("messages.protectExpired", "{prefix}&a{species} 的保护已解除。"); }
+    public MsgTemplate msgProtectDeniedAttack() { return msgProtectDeniedAttack; }
+    public MsgTemplate msgProtectDeniedInteract() { return msgProtectDeniedInteract; }
+    public MsgTemplate msgProtectDeniedFish() { return msgProtectDeniedFish; }
+    public MsgTemplate msgProtectExpired() { return msgProtectExpired; }
 
     // teleport
-    public boolean tpEnabled() { return c.getBoolean("teleport.enabled", true); }
-    public int tpCooldownSeconds() { return c.getInt("teleport.cooldownSeconds", 3); }
-    public boolean tpRequirePerm() { return c.getBoolean("teleport.requirePermission", true); }
-    public boolean tpTrackedOnly() { return c.getBoolean("teleport.trackedOnly", true); }
-    public boolean tpEcoEnabled() { return c.getBoolean("teleport.economy.enabled", true); }
-    public double tpEcoCost() { return c.getDouble("teleport.economy.cost", 100.0); }
+    public boolean tpEnabled() { return tpEnabled; }
+    public int tpCooldownSeconds() { return tpCooldownSeconds; }
+    public boolean tpRequirePerm() { return tpRequirePerm; }
+    public boolean tpTrackedOnly() { return tpTrackedOnly; }
+    public boolean tpEcoEnabled() { return tpEcoEnabled; }
+    public double tpEcoCost() { return tpEcoCost; }
 
-    public String msgTeleportSuccess() { return c.getString("messages.teleportSuccess", "{prefix}&a已传送。"); }
-    public String msgTeleportCooldown() { return c.getString("messages.teleportCooldown", "{prefix}&e请等待 &f{seconds}&es 后再传送。"); }
-    public String msgTeleportNoMoney() { return c.getString("messages.teleportNoMoney", "{prefix}&c余额不足，需要 &f{cost}&c。"); }
+    public MsgTemplate msgTeleportDisabled() { return msgTeleportDisabled; }
+    public MsgTemplate msgTeleportSuccess() { return msgTeleportSuccess; }
+    public MsgTemplate msgTeleportPending() { return msgTeleportPending; }
+    public MsgTemplate msgTeleportBusy() { return msgTeleportBusy; }
+    public MsgTemplate msgTeleportCooldown() { return msgTeleportCooldown; }
+    public MsgTemplate msgTeleportNoMoney() { return msgTeleportNoMoney; }
 
     // party
-    public boolean partyEnabled() { return c.getBoolean("partyView.enabled", true); }
-    public boolean partyRequireSneak() { return c.getBoolean("partyView.requireSneak", true); }
-    public int partySize() { return c.getInt("partyView.size", 54); }
-    public String msgPartyViewTitle() { return c.getString("messages.partyViewTitle", "{prefix}&a{player} 的队伍"); }
-    public String msgPartyViewFailed() { return c.getString("messages.partyViewFailed", "{prefix}&c无法获取该玩家的队伍。"); }
-    public String msgPartyViewEmpty() { return c.getString("messages.partyViewEmpty", "{prefix}&e该玩家队伍为空或未加载。"); }
+    public boolean partyEnabled() { return partyEnabled; }
+    public boolean partyRequireSneak() { return partyRequireSneak; }
+    public int partySize() { return partySize; }
+    public MsgTemplate msgPartyViewTitle() { return msgPartyViewTitle; }
+    public MsgTemplate msgPartyViewFailed() { return msgPartyViewFailed; }
+    public MsgTemplate msgPartyViewEmpty() { return msgPartyViewEmpty; }
 
     // common messages
-    public String msgPrefix() { return c.getString("messages.prefix", "&7[&aCobbleTip&7] "); }
-    public String msgNoPermission() { return c.getString("messages.noPermission", "{prefix}&c你没有权限。"); }
-    public String msgReloaded() { return c.getString("messages.reloaded", "{prefix}&a配置已重载。"); }
-    public String msgEntityNotFound() { return c.getString("messages.entityNotFound", "{prefix}&c目标已消失。"); }
-    public String msgNotTracked() { return c.getString("messages.notTracked", "{prefix}&c该目标已过期或未记录。"); }
+    public String msgPrefix() { return msgPrefix; }
+    public MsgTemplate msgNoPermission() { return msgNoPermission; }
+    public MsgTemplate msgReloaded() { return msgReloaded; }
+    public MsgTemplate msgEntityNotFound() { return msgEntityNotFound; }
+    public MsgTemplate msgNotTracked() { return msgNotTracked; }
+    public MsgTemplate msgAnnounceOn() { return msgAnnounceOn; }
+    public MsgTemplate msgAnnounceOff() { return msgAnnounceOff; }
+    public MsgTemplate msgRecentHeader() { return msgRecentHeader; }
+    public MsgTemplate msgRecentEmpty() { return msgRecentEmpty; }
+    public MsgTemplate msgPlayerOnly() { return msgPlayerOnly; }
+
+    // /cobbletip stats
+    public MsgTemplate msgStatsProtection() { return msgStatsProtection; }
+    public MsgTemplate msgStatsShortCircuit() { return msgStatsShortCircuit; }
+    public MsgTemplate msgStatsTeleportTargets() { return msgStatsTeleportTargets; }
+    public MsgTemplate msgStatsDispatch() { return msgStatsDispatch; }
+    public MsgTemplate msgStatsPipeline() { return msgStatsPipeline; }
+    public MsgTemplate msgStatsThrottle() { return msgStatsThrottle; }
+    public MsgTemplate msgStatsAudience() { return msgStatsAudience; }
+    public MsgTemplate msgStatsLocales() { return msgStatsLocales; }
+    public MsgTemplate msgStatsPlayerState() { return msgStatsPlayerState; }
 
     public Plugin plugin() { return plugin; }
 }
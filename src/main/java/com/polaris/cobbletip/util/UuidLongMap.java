@@ -0,0 +1,273 @@
+package com.polaris.cobbletip.util;
+
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.function.LongPredicate;
+
+/**
+ * UUID -> primitive long map for expiry timestamps and cooldowns.
+ * Keys are stored as (msb, lsb) long pairs in open-addressed stripes, so puts and reads
+ * neither box a {@code Long} nor allocate a map node. Each stripe has its own lock;
+ * uncontended locking is cheap and keeps the table safe if a task touches it off-thread.
+ */
+public final class UuidLongMap {
+    /** Returned by lookups when the key is absent. */
+    public static final long NONE = Long.MIN_VALUE;
+
+    @FunctionalInterface
+    public interface EntryVisitor {
+        void visit(UUID key, long value);
+    }
+
+    private static final int STRIPES = 16;
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    public UuidLongMap() {
+        this(64);
+    }
+
+    public UuidLongMap(int expected) {
+        int perStripe = Math.max(4, expected / STRIPES);
+        for (int i = 0; i < STRIPES; i++) stripes[i] = new Stripe(perStripe);
+    }
+
+    public long get(UUID id) {
+        if (id == null) return NONE;
+        long msb = id.getMostSignificantBits();
+        long lsb = id.getLeastSignificantBits();
+        int h = UuidSet.mix(msb, lsb);
+        Stripe s = stripes[h >>> 28];
+        synchronized (s) {
+            return s.get(msb, lsb, h);
+        }
+    }
+
+    public long getOrDefault(UUID id, long def) {
+        long v = get(id);
+        return v == NONE ? def : v;
+    }
+
+    public boolean containsKey(UUID id) {
+        return get(id) != NONE;
+    }
+
+    /** @return the previous value, or {@link #NONE} */
+    public long put(UUID id, long value) {
+        if (id == null) return NONE;
+        long msb = id.getMostSignificantBits();
+        long lsb = id.getLeastSignificantBits();
+        int h = UuidSet.mix(msb, lsb);
+        Stripe s = stripes[h >>> 28];
+        synchronized (s) {
+            return s.put(msb, lsb, h, value);
+        }
+    }
+
+    /** @return the removed value, or {@link #NONE} */
+    public long remove(UUID id) {
+        if (id == null) return NONE;
+        long msb = id.getMostSignificantBits();
+        long lsb = id.getLeastSignificantBits();
+        int h = UuidSet.mix(msb, lsb);
+        Stripe s = stripes[h >>> 28];
+        synchronized (s) {
+            return s.remove(msb, lsb, h);
+        }
+    }
+
+    public int size() {
+        int n = 0;
+        for (Stripe s : stripes) {
+            synchronized (s) {
+                n += s.size + (s.hasNil ? 1 : 0);
+            }
+        }
+        return n;
+    }
+
+    public void clear() {
+        for (Stripe s : stripes) {
+            synchronized (s) {
+                s.clear();
+            }
+        }
+    }
+
+    /** Visits a stripe-by-stripe snapshot; the visitor may mutate this map. */
+    public void forEach(EntryVisitor visitor) {
+        for (Stripe s : stripes) {
+            long[] keys;
+            long[] values;
+            boolean nil;
+            long nilValue;
+            synchronized (s) {
+                keys = s.keys.clone();
+                values = s.values.clone();
+                nil = s.hasNil;
+                nilValue = s.nilValue;
+            }
+            if (nil) visitor.visit(new UUID(0L, 0L), nilValue);
+            for (int i = 0; i < values.length; i++) {
+                long a = keys[i << 1];
+                long b = keys[(i << 1) + 1];
+                if ((a | b) == 0L) continue;
+                visitor.visit(new UUID(a, b), values[i]);
+            }
+        }
+    }
+
+    /** Removes every entry whose value matches; returns the number removed. */
+    public int removeIf(LongPredicate valuePredicate) {
+        int removed = 0;
+        for (Stripe s : stripes) {
+            synchronized (s) {
+                removed += s.removeIf(valuePredicate);
+            }
+        }
+        return removed;
+    }
+
+    private static final class Stripe {
+        long[] keys;
+        long[] values;
+        int mask;
+        int size;
+        boolean hasNil;
+        long nilValue;
+
+        Stripe(int expected) {
+            alloc(UuidSet.tableSizeFor(expected * 2));
+        }
+
+        private void alloc(int cap) {
+            keys = new long[cap << 1];
+            values = new long[cap];
+            mask = cap - 1;
+        }
+
+        long get(long msb, long lsb, int h) {
+            if ((msb | lsb) == 0L) return hasNil ? nilValue : NONE;
+            int i = h & mask;
+            while (true) {
+                long a = keys[i << 1];
+                long b = keys[(i << 1) + 1];
+                if (a == msb && b == lsb) return values[i];
+                if ((a | b) == 0L) return NONE;
+                i = (i + 1) & mask;
+            }
+        }
+
+        long put(long msb, long lsb, int h, long value) {
+            if ((msb | lsb) == 0L) {
+                long prev = hasNil ? nilValue : NONE;
+                hasNil = true;
+                nilValue = value;
+                return prev;
+            }
+            if ((size + 1) * 2 > mask + 1) rehash((mask + 1) << 1);
+            int i = h & mask;
+            while (true) {
+                long a = keys[i << 1];
+                long b = keys[(i << 1) + 1];
+                if (a == msb && b == lsb) {
+                    long prev = values[i];
+                    values[i] = value;
+                    return prev;
+                }
+                if ((a | b) == 0L) {
+                    keys[i << 1] = msb;
+                    keys[(i << 1) + 1] = lsb;
+                    values[i] = value;
+                    size++;
+                    return NONE;
+                }
+                i = (i + 1) & mask;
+            }
+        }
+
+        long remove(long msb, long lsb, int h) {
+            if ((msb | lsb) == 0L) {
+                long prev = hasNil ? nilValue : NONE;
+                hasNil = false;
+                return prev;
+            }
+            int i = h & mask;
+            while (true) {
+                long a = keys[i << 1];
+                long b = keys[(i << 1) + 1];
+                if ((a | b) == 0L) return NONE;
+                if (a == msb && b == lsb) {
+                    long prev = values[i];
+                    removeAt(i);
+                    size--;
+                    return prev;
+                }
+                i = (i + 1) & mask;
+            }
+        }
+
+        int removeIf(LongPredicate p) {
+            int removed = 0;
+            if (hasNil && p.test(nilValue)) {
+                hasNil = false;
+                removed++;
+            }
+            int i = 0;
+            while (i <= mask) {
+                long a = keys[i << 1];
+                long b = keys[(i << 1) + 1];
+                if ((a | b) != 0L && p.test(values[i])) {
+                    // Backward shift may pull a later entry into slot i, so re-check it.
+                    removeAt(i);
+                    size--;
+                    removed++;
+                    continue;
+                }
+                i++;
+            }
+            return removed;
+        }
+
+        void clear() {
+            Arrays.fill(keys, 0L);
+            size = 0;
+            hasNil = false;
+        }
+
+        private void removeAt(int hole) {
+            int j = hole;
+            while (true) {
+                j = (j + 1) & mask;
+                long a = keys[j << 1];
+                long b = keys[(j << 1) + 1];
+                if ((a | b) == 0L) break;
+                int home = UuidSet.mix(a, b) & mask;
+                boolean stays = hole <= j ? (hole < home && home <= j) : (hole < home || home <= j);
+                if (stays) continue;
+                keys[hole << 1] = a;
+                keys[(hole << 1) + 1] = b;
+                values[hole] = values[j];
+                hole = j;
+            }
+            keys[hole << 1] = 0L;
+            keys[(hole << 1) + 1] = 0L;
+        }
+
+        private void rehash(int newCap) {
+            long[] oldKeys = keys;
+            long[] oldValues = values;
+            alloc(newCap);
+            for (int i = 0; i < oldValues.length; i++) {
+                long a = oldKeys[i << 1];
+                long b = oldKeys[(i << 1) + 1];
+                if ((a | b) == 0L) continue;
+                int j = UuidSet.mix(a, b) & mask;
+                while ((keys[j << 1] | keys[(j << 1) + 1]) != 0L) j = (j + 1) & mask;
+                keys[j << 1] = a;
+                keys[(j << 1) + 1] = b;
+                values[j] = oldValues[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.polaris.cobbletip.util;
+
+import java.util.UUID;
+
+/**
+ * Open-addressed set of UUIDs stored as (msb, lsb) long pairs.
+ * Linear probing with backward-shift deletion, so there are no tombstones and
+ * {@link #contains(UUID)} never allocates. Not thread-safe: owned by the server thread.
+ */
+public final class UuidSet {
+    // slots[2*i] = msb, slots[2*i+1] = lsb; (0,0) marks an empty slot, the nil UUID is kept aside.
+    private long[] slots;
+    private int mask;
+    private int size;
+    private boolean hasNil;
+
+    public UuidSet() {
+        this(64);
+    }
+
+    public UuidSet(int expected) {
+        int cap = tableSizeFor(Math.max(8, expected * 2));
+        this.slots = new long[cap << 1];
+        this.mask = cap - 1;
+    }
+
+    public int size() {
+        return size + (hasNil ? 1 : 0);
+    }
+
+    public boolean contains(UUID id) {
+        return id != null && contains(id.getMostSignificantBits(), id.getLeastSignificantBits());
+    }
+
+    public boolean contains(long msb, long lsb) {
+        if ((msb | lsb) == 0L) return hasNil;
+        long[] t = slots;
+        int m = mask;
+        int i = mix(msb, lsb) & m;
+        while (true) {
+            long a = t[i << 1];
+            long b = t[(i << 1) + 1];
+            if (a == msb && b == lsb) return true;
+            if ((a | b) == 0L) return false;
+            i = (i + 1) & m;
+        }
+    }
+
+    public boolean add(UUID id) {
+        if (id == null) return false;
+        long msb = id.getMostSignificantBits();
+        long lsb = id.getLeastSignificantBits();
+        if ((msb | lsb) == 0L) {
+            boolean added = !hasNil;
+            hasNil = true;
+            return added;
+        }
+        if ((size + 1) * 2 > mask + 1) rehash((mask + 1) << 1);
+        long[] t = slots;
+        int m = mask;
+        int i = mix(msb, lsb) & m;
+        while (true) {
+            long a = t[i << 1];
+            long b = t[(i << 1) + 1];
+            if (a == msb && b == lsb) return false;
+            if ((a | b) == 0L) {
+                t[i << 1] = msb;
+                t[(i << 1) + 1] = lsb;
+                size++;
+                return true;
+            }
+            i = (i + 1) & m;
+        }
+    }
+
+    public boolean remove(UUID id) {
+        if (id == null) return false;
+        long msb = id.getMostSignificantBits();
+        long lsb = id.getLeastSignificantBits();
+        if ((msb | lsb) == 0L) {
+            boolean removed = hasNil;
+            hasNil = false;
+            return removed;
+        }
+        long[] t = slots;
+        int m = mask;
+        int i = mix(msb, lsb) & m;
+        while (true) {
+            long a = t[i << 1];
+            long b = t[(i << 1) + 1];
+            if ((a | b) == 0L) return false;
+            if (a == msb && b == lsb) {
+                removeAt(i);
+                size--;
+                return true;
+            }
+            i = (i + 1) & m;
+        }
+    }
+
+    public void clear() {
+        java.util.Arrays.fill(slots, 0L);
+        size = 0;
+        hasNil = false;
+    }
+
+    private void removeAt(int hole) {
+        long[] t = slots;
+        int m = mask;
+        int j = hole;
+        while (true) {
+            j = (j + 1) & m;
+            long a = t[j << 1];
+            long b = t[(j << 1) + 1];
+            if ((a | b) == 0L) break;
+            int home = mix(a, b) & m;
+            // Leave the entry where it is if its home slot lies cyclically in (hole, j].
+            boolean stays = hole <= j ? (hole < home && home <= j) : (hole < home || home <= j);
+            if (stays) continue;
+            t[hole << 1] = a;
+            t[(hole << 1) + 1] = b;
+            hole = j;
+        }
+        t[hole << 1] = 0L;
+        t[(hole << 1) + 1] = 0L;
+    }
+
+    private void rehash(int newCap) {
+        long[] old = slots;
+        slots = new long[newCap << 1];
+        mask = newCap - 1;
+        for (int i = 0; i < old.length; i += 2) {
+            long a = old[i];
+            long b = old[i + 1];
+            if ((a | b) == 0L) continue;
+            int j = mix(a, b) & mask;
+            while ((slots[j << 1] | slots[(j << 1) + 1]) != 0L) j = (j + 1) & mask;
+            slots[j << 1] = a;
+            slots[(j << 1) + 1] = b;
+        }
+    }
+
+    static int mix(long msb, long lsb) {
+        long h = msb * 0x9E3779B97F4A7C15L ^ lsb;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+
+    static int tableSizeFor(int n) {
+        int cap = Integer.highestOneBit(Math.max(2, n - 1)) << 1;
+        return cap < 0 ? 1 << 30 : cap;
+    }
+}
@@ -0,0 +1,72 @@
+package com.polaris.cobbletip.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class FlatJsonReaderTest {
+
+    @Test
+    void readsMembersAndFiltersKeys() throws IOException {
+        Map<String, String> out = read("{\n  \"a.name\": \"Bulbasaur\",\n\t\"b\" : \"skip\", \"c.name\":\"妙蛙种子\"\n}", k -> k.endsWith(".name"));
+        assertEquals(Map.of("a.name", "Bulbasaur", "c.name", "妙蛙种子"), out);
+    }
+
+    @Test
+    void decodesEscapes() throws IOException {
+        Map<String, String> out = read("{\"k\": \"q\\\" b\\\\ s\\/ \\b\\f\\n\\r\\t \\u00e9\\u5999\"}");
+        assertEquals("q\" b\\ s/ \b\f\n\r\t \u00e9\u5999", out.get("k"));
+    }
+
+    @Test
+    void keepsEscapedSurrogatePair() throws IOException {
+        Map<String, String> out = read("{\"k\": \"x\\uD83D\\uDE00y\"}");
+        assertEquals("x\uD83D\uDE00y", out.get("k"));
+        assertEquals(0x1F600, out.get("k").codePointAt(1));
+    }
+
+    @Test
+    void replacesUnpairedEscapedSurrogates() throws IOException {
+        assertEquals("a\uFFFDb", read("{\"k\": \"a\\uD83Db\"}").get("k"));
+        assertEquals("a\uFFFDb", read("{\"k\": \"a\\uDE00b\"}").get("k"));
+        // a low half before its high half is two unpaired halves
+        assertEquals("\uFFFD\uFFFD", read("{\"k\": \"\\uDE00\\uD83D\"}").get("k"));
+        assertEquals("\uFFFD", read("{\"k\": \"\\uD83D\"}").get("k"));
+    }
+
+    @Test
+    void keepsSurrogatePairSplitAcrossBufferRefill() throws IOException {
+        // the reader refills every 8192 chars; slide the escape over that boundary
+        for (int pad = 8160; pad < 8200; pad++) {
+            String json = "{\"k\": \"" + "a".repeat(pad) + "\\uD83D\\uDE00\", \"n\": \"\u00e9\"}";
+            Map<String, String> out = read(json);
+            assertEquals("a".repeat(pad) + "\uD83D\uDE00", out.get("k"), "pad " + pad);
+            assertEquals("\u00e9", out.get("n"), "pad " + pad);
+        }
+    }
+
+    @Test
+    void stopsAtMalformedInputKeepingEarlierMembers() throws IOException {
+        Map<String, String> out = read("{\"a\": \"1\", \"b\": 2, \"c\": \"3\"}");
+        assertEquals(Map.of("a", "1"), out);
+        assertEquals(Map.of("a", "1"), read("{\"a\": \"1\", \"b\": \"\\u12G4\"}"));
+        assertEquals(Map.of("a", "1"), read("{\"a\": \"1\", \"b\": \"unterminated"));
+        assertFalse(read("[\"a\"]").containsKey("a"));
+        assertEquals(Map.of(), read(""));
+    }
+
+    private static Map<String, String> read(String json) throws IOException {
+        return read(json, k -> true);
+    }
+
+    private static Map<String, String> read(String json, Predicate<String> keep) throws IOException {
+        return FlatJsonReader.read(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), keep);
+    }
+}
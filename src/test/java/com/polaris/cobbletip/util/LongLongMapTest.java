@@ -0,0 +1,103 @@
+package com.polaris.cobbletip.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LongLongMapTest {
+    // new LongLongMap(8) has 16 slots and holds 7 entries before it grows
+    private static final int MASK = 15;
+
+    @Test
+    void putGetRemove() {
+        LongLongMap map = new LongLongMap();
+        assertTrue(map.isEmpty());
+        assertEquals(0L, map.put(0L, 5L));
+        assertEquals(5L, map.put(0L, 6L));
+        assertEquals(6L, map.get(0L));
+        assertEquals(0L, map.get(1L));
+        assertEquals(6L, map.remove(0L));
+        assertEquals(0L, map.remove(0L));
+        assertTrue(map.isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> map.put(1L, 0L));
+    }
+
+    @Test
+    void removeFromClusterThatWrapsPastTableEnd() {
+        LongLongMap map = new LongLongMap(8);
+        long[] last = withHome(MASK, 3);
+        long first = withHome(0, 1)[0];
+        // slots 15, 0, 1, 2: two entries homed at 15 wrap around, the one homed at 0 is pushed behind them
+        map.put(last[0], 1L);
+        map.put(last[1], 2L);
+        map.put(first, 3L);
+        map.put(last[2], 4L);
+
+        assertEquals(1L, map.remove(last[0]));
+        assertEquals(2L, map.get(last[1]));
+        assertEquals(3L, map.get(first));
+        assertEquals(4L, map.get(last[2]));
+
+        assertEquals(3L, map.remove(first));
+        assertEquals(2L, map.get(last[1]));
+        assertEquals(4L, map.get(last[2]));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    void removeInsideCollisionCluster() {
+        LongLongMap map = new LongLongMap(8);
+        long[] same = withHome(3, 4);
+        for (int i = 0; i < same.length; i++) map.put(same[i], i + 1);
+
+        assertEquals(2L, map.remove(same[1]));
+        assertEquals(0L, map.get(same[1]));
+        assertEquals(1L, map.get(same[0]));
+        assertEquals(3L, map.get(same[2]));
+        assertEquals(4L, map.get(same[3]));
+        assertEquals(3, map.size());
+    }
+
+    @Test
+    void matchesHashMapThroughGrowthAndRemoval() {
+        LongLongMap map = new LongLongMap(4);
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(13);
+        List<Long> pool = new ArrayList<>();
+        for (int i = 0; i < 512; i++) pool.add(random.nextLong());
+
+        for (int step = 1; step <= 20_000; step++) {
+            long key = pool.get(random.nextInt(pool.size()));
+            if (random.nextInt(3) == 0) {
+                Long prev = expected.remove(key);
+                assertEquals(prev == null ? 0L : prev, map.remove(key));
+            } else {
+                Long prev = expected.put(key, (long) step);
+                assertEquals(prev == null ? 0L : prev, map.put(key, step));
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        for (long key : pool) assertEquals((long) expected.getOrDefault(key, 0L), map.get(key));
+
+        map.clear();
+        assertTrue(map.isEmpty());
+        for (long key : pool) assertEquals(0L, map.get(key));
+    }
+
+    private static long[] withHome(int home, int count) {
+        long[] out = new long[count];
+        int n = 0;
+        for (long k = 1; n < count; k++) {
+            if ((LongObjectMap.mix(k) & MASK) == home) out[n++] = k;
+        }
+        return out;
+    }
+}
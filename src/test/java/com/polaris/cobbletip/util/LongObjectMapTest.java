@@ -0,0 +1,103 @@
+package com.polaris.cobbletip.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LongObjectMapTest {
+    // new LongObjectMap<>(8) has 16 slots and holds 7 entries before it grows
+    private static final int MASK = 15;
+
+    @Test
+    void putGetRemove() {
+        LongObjectMap<String> map = new LongObjectMap<>();
+        assertTrue(map.isEmpty());
+        assertNull(map.put(0L, "zero"));
+        assertNull(map.put(-1L, "minus one"));
+        assertEquals("zero", map.put(0L, "0"));
+        assertEquals("0", map.get(0L));
+        assertEquals("minus one", map.get(-1L));
+        assertEquals(2, map.size());
+        assertEquals("0", map.remove(0L));
+        assertNull(map.remove(0L));
+        assertNull(map.get(0L));
+        assertEquals(1, map.size());
+        assertThrows(NullPointerException.class, () -> map.put(1L, null));
+    }
+
+    @Test
+    void removeFromClusterThatWrapsPastTableEnd() {
+        LongObjectMap<String> map = new LongObjectMap<>(8);
+        long[] last = withHome(MASK, 3);
+        long first = withHome(0, 1)[0];
+        // slots 15, 0, 1, 2: two entries homed at 15 wrap around, the one homed at 0 is pushed behind them
+        map.put(last[0], "a");
+        map.put(last[1], "b");
+        map.put(first, "c");
+        map.put(last[2], "d");
+
+        assertEquals("a", map.remove(last[0]));
+        assertEquals("b", map.get(last[1]));
+        assertEquals("c", map.get(first));
+        assertEquals("d", map.get(last[2]));
+
+        assertEquals("c", map.remove(first));
+        assertEquals("b", map.get(last[1]));
+        assertEquals("d", map.get(last[2]));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    void removeInsideCollisionCluster() {
+        LongObjectMap<String> map = new LongObjectMap<>(8);
+        long[] same = withHome(3, 4);
+        for (int i = 0; i < same.length; i++) map.put(same[i], "v" + i);
+
+        assertEquals("v1", map.remove(same[1]));
+        assertNull(map.get(same[1]));
+        assertEquals("v0", map.get(same[0]));
+        assertEquals("v2", map.get(same[2]));
+        assertEquals("v3", map.get(same[3]));
+        assertEquals(3, map.size());
+    }
+
+    @Test
+    void matchesHashMapThroughGrowthAndRemoval() {
+        LongObjectMap<Integer> map = new LongObjectMap<>(4);
+        Map<Long, Integer> expected = new HashMap<>();
+        Random random = new Random(11);
+        List<Long> pool = new ArrayList<>();
+        // packed chunk keys, like PlayerGrid uses
+        for (int i = 0; i < 512; i++) pool.add(((long) random.nextInt(64) << 32) | (random.nextInt(64) & 0xFFFFFFFFL));
+
+        for (int step = 0; step < 20_000; step++) {
+            long key = pool.get(random.nextInt(pool.size()));
+            if (random.nextInt(3) == 0) assertEquals(expected.remove(key), map.remove(key));
+            else assertEquals(expected.put(key, step), map.put(key, step));
+        }
+        assertEquals(expected.size(), map.size());
+        for (long key : pool) assertEquals(expected.get(key), map.get(key));
+
+        map.clear();
+        assertTrue(map.isEmpty());
+        for (long key : pool) assertNull(map.get(key));
+    }
+
+    private static long[] withHome(int home, int count) {
+        long[] out = new long[count];
+        int n = 0;
+        for (long k = 1; n < count; k++) {
+            if ((LongObjectMap.mix(k) & MASK) == home) out[n++] = k;
+        }
+        return out;
+    }
+}
@@ -0,0 +1,120 @@
+package com.polaris.cobbletip.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UuidLongMapTest {
+    // new UuidLongMap() gives each of its 16 stripes 8 slots; the stripe is picked by the top 4 hash bits
+    private static final int STRIPE_MASK = 7;
+
+    @Test
+    void putGetRemove() {
+        UuidLongMap map = new UuidLongMap();
+        UUID a = UUID.randomUUID();
+        assertEquals(UuidLongMap.NONE, map.get(a));
+        assertEquals(UuidLongMap.NONE, map.put(a, 10L));
+        assertEquals(10L, map.put(a, 0L));
+        assertEquals(0L, map.get(a));
+        assertTrue(map.containsKey(a));
+        assertEquals(5L, map.getOrDefault(UUID.randomUUID(), 5L));
+        assertEquals(0L, map.remove(a));
+        assertEquals(UuidLongMap.NONE, map.remove(a));
+        assertFalse(map.containsKey(a));
+        assertEquals(0, map.size());
+        assertEquals(UuidLongMap.NONE, map.get(null));
+    }
+
+    @Test
+    void nilUuidIsKeptAside() {
+        UuidLongMap map = new UuidLongMap();
+        UUID nil = new UUID(0L, 0L);
+        assertEquals(UuidLongMap.NONE, map.put(nil, 3L));
+        assertEquals(3L, map.get(nil));
+        assertEquals(1, map.size());
+        assertEquals(1, map.removeIf(v -> v == 3L));
+        assertEquals(UuidLongMap.NONE, map.get(nil));
+    }
+
+    @Test
+    void removeFromClusterThatWrapsPastStripeEnd() {
+        UuidLongMap map = new UuidLongMap();
+        List<UUID> last = inStripeZero(STRIPE_MASK, 2);
+        UUID first = inStripeZero(0, 1).get(0);
+        // slots 7, 0, 1 of the same stripe
+        map.put(last.get(0), 1L);
+        map.put(last.get(1), 2L);
+        map.put(first, 3L);
+
+        assertEquals(1L, map.remove(last.get(0)));
+        assertEquals(2L, map.get(last.get(1)));
+        assertEquals(3L, map.get(first));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    void removeIfRechecksShiftedSlot() {
+        UuidLongMap map = new UuidLongMap();
+        List<UUID> same = inStripeZero(2, 3);
+        map.put(same.get(0), 1L);
+        map.put(same.get(1), 1L);
+        map.put(same.get(2), 2L);
+
+        // removing the first entry shifts the second into its slot, which must be tested as well
+        assertEquals(2, map.removeIf(v -> v == 1L));
+        assertEquals(UuidLongMap.NONE, map.get(same.get(0)));
+        assertEquals(UuidLongMap.NONE, map.get(same.get(1)));
+        assertEquals(2L, map.get(same.get(2)));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void matchesHashMapThroughGrowthAndRemoval() {
+        UuidLongMap map = new UuidLongMap(16);
+        Map<UUID, Long> expected = new HashMap<>();
+        Random random = new Random(7);
+        List<UUID> pool = new ArrayList<>();
+        for (int i = 0; i < 1024; i++) pool.add(new UUID(random.nextLong(), random.nextLong()));
+
+        for (int step = 0; step < 30_000; step++) {
+            UUID id = pool.get(random.nextInt(pool.size()));
+            if (random.nextInt(3) == 0) {
+                Long prev = expected.remove(id);
+                assertEquals(prev == null ? UuidLongMap.NONE : prev, map.remove(id));
+            } else {
+                long value = random.nextInt(1000);
+                Long prev = expected.put(id, value);
+                assertEquals(prev == null ? UuidLongMap.NONE : prev, map.put(id, value));
+            }
+        }
+        assertEquals(expected.size(), map.size());
+
+        Map<UUID, Long> visited = new HashMap<>();
+        map.forEach(visited::put);
+        assertEquals(expected, visited);
+
+        int removed = map.removeIf(v -> v < 500);
+        expected.values().removeIf(v -> v < 500);
+        assertEquals(visited.size() - expected.size(), removed);
+        for (UUID id : pool) assertEquals((long) expected.getOrDefault(id, UuidLongMap.NONE), map.get(id));
+    }
+
+    private static List<UUID> inStripeZero(int home, int count) {
+        List<UUID> out = new ArrayList<>();
+        for (long k = 1; out.size() < count; k++) {
+            long lsb = k * 31 + 7;
+            int h = UuidSet.mix(k, lsb);
+            if ((h >>> 28) == 0 && (h & STRIPE_MASK) == home) out.add(new UUID(k, lsb));
+        }
+        return out;
+    }
+}
@@ -0,0 +1,121 @@
+package com.polaris.cobbletip.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UuidSetTest {
+    // new UuidSet(8) has 16 slots and holds 7 entries before it grows
+    private static final int MASK = 15;
+
+    @Test
+    void addContainsRemove() {
+        UuidSet set = new UuidSet();
+        UUID a = UUID.randomUUID();
+        UUID b = UUID.randomUUID();
+        assertTrue(set.add(a));
+        assertFalse(set.add(a));
+        assertTrue(set.add(b));
+        assertEquals(2, set.size());
+        assertTrue(set.contains(a));
+        assertTrue(set.contains(a.getMostSignificantBits(), a.getLeastSignificantBits()));
+        assertTrue(set.remove(a));
+        assertFalse(set.remove(a));
+        assertFalse(set.contains(a));
+        assertTrue(set.contains(b));
+        assertEquals(1, set.size());
+        assertFalse(set.contains(null));
+        assertFalse(set.add(null));
+    }
+
+    @Test
+    void nilUuidIsKeptAside() {
+        UuidSet set = new UuidSet();
+        UUID nil = new UUID(0L, 0L);
+        assertFalse(set.contains(nil));
+        assertTrue(set.add(nil));
+        assertFalse(set.add(nil));
+        assertTrue(set.contains(nil));
+        assertEquals(1, set.size());
+        assertTrue(set.remove(nil));
+        assertEquals(0, set.size());
+    }
+
+    @Test
+    void removeFromClusterThatWrapsPastTableEnd() {
+        UuidSet set = new UuidSet(8);
+        List<UUID> last = withHome(MASK, 3);
+        UUID first = withHome(0, 1).get(0);
+        // slots 15, 0, 1, 2: two entries homed at 15 wrap around, the one homed at 0 is pushed behind them
+        set.add(last.get(0));
+        set.add(last.get(1));
+        set.add(first);
+        set.add(last.get(2));
+
+        assertTrue(set.remove(last.get(0)));
+        assertTrue(set.contains(last.get(1)));
+        assertTrue(set.contains(first));
+        assertTrue(set.contains(last.get(2)));
+        assertFalse(set.contains(last.get(0)));
+
+        assertTrue(set.remove(first));
+        assertTrue(set.contains(last.get(1)));
+        assertTrue(set.contains(last.get(2)));
+        assertEquals(2, set.size());
+    }
+
+    @Test
+    void removeInsideCollisionCluster() {
+        UuidSet set = new UuidSet(8);
+        List<UUID> same = withHome(3, 4);
+        for (UUID id : same) set.add(id);
+
+        assertTrue(set.remove(same.get(1)));
+        assertFalse(set.contains(same.get(1)));
+        assertTrue(set.contains(same.get(0)));
+        assertTrue(set.contains(same.get(2)));
+        assertTrue(set.contains(same.get(3)));
+
+        assertTrue(set.add(same.get(1)));
+        assertEquals(4, set.size());
+    }
+
+    @Test
+    void matchesHashSetThroughGrowthAndRemoval() {
+        UuidSet set = new UuidSet(4);
+        Set<UUID> expected = new HashSet<>();
+        Random random = new Random(42);
+        List<UUID> pool = new ArrayList<>();
+        for (int i = 0; i < 512; i++) pool.add(new UUID(random.nextLong(), random.nextLong()));
+
+        for (int step = 0; step < 20_000; step++) {
+            UUID id = pool.get(random.nextInt(pool.size()));
+            if (random.nextInt(3) == 0) assertEquals(expected.remove(id), set.remove(id));
+            else assertEquals(expected.add(id), set.add(id));
+        }
+        assertEquals(expected.size(), set.size());
+        for (UUID id : pool) assertEquals(expected.contains(id), set.contains(id));
+
+        set.clear();
+        assertEquals(0, set.size());
+        for (UUID id : pool) assertFalse(set.contains(id));
+    }
+
+    private static List<UUID> withHome(int home, int count) {
+        List<UUID> out = new ArrayList<>();
+        for (long k = 1; out.size() < count; k++) {
+            long lsb = k * 31 + 7;
+            if ((UuidSet.mix(k, lsb) & MASK) == home) out.add(new UUID(k, lsb));
+        }
+        return out;
+    }
+}